@@ -0,0 +1,46 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class AdverseReactionCache {
+  private final AdverseReactionRepository adverseReactionRepository;
+  private final EntityManager entityManager;
+
+  public AdverseReactionCache(AdverseReactionRepository adverseReactionRepository, EntityManager entityManager) {
+    this.adverseReactionRepository = adverseReactionRepository;
+    this.entityManager = entityManager;
+  }
+
+  public List<AdverseReaction> findAllById(Set<Long> ids) {
+    Cache cache = entityManager.getEntityManagerFactory().getCache();
+    List<AdverseReaction> adverseReactions = new ArrayList<>();
+    Set<Long> missingIds = new HashSet<>();
+
+    for (Long id : ids) {
+      AdverseReaction adverseReaction = cache.contains(AdverseReaction.class, id)
+          ? entityManager.find(AdverseReaction.class, id)
+          : null;
+
+      if (adverseReaction == null) {
+        missingIds.add(id);
+      } else {
+        adverseReactions.add(adverseReaction);
+      }
+    }
+
+    if (!missingIds.isEmpty()) {
+      adverseReactions.addAll(adverseReactionRepository.findAllById(missingIds));
+    }
+
+    return adverseReactions;
+  }
+}
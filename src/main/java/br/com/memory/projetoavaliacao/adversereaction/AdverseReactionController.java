@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,12 +44,28 @@ public class AdverseReactionController {
   )
   @GetMapping
   @ResponseStatus(HttpStatus.OK)
-  public Page<AdverseReaction> findAllBy(
+  public Page<AdverseReactionView> findAllBy(
       @Parameter(description = "The description to filter by") @RequestParam(required = false) String description,
       @ParameterObject @PageableDefault Pageable pageable) {
     return adverseReactionService.findAllBy(description, pageable);
   }
 
+  @Operation(
+    summary = "Get all adverse reactions without total",
+    description = "Gets a sliced list of adverse reactions and filtered by description if provided. "
+        + "Selected by count=false, it skips the total count and only tells whether there is a next slice.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+    }
+  )
+  @GetMapping(params = "count=false")
+  @ResponseStatus(HttpStatus.OK)
+  public SliceResponse<AdverseReactionView> findSliceBy(
+      @Parameter(description = "The description to filter by") @RequestParam(required = false) String description,
+      @ParameterObject @PageableDefault Pageable pageable) {
+    return SliceResponse.of(adverseReactionService.findSliceBy(description, pageable));
+  }
+
   @Operation(
     summary = "Create adverse reaction",
     description = "Creates an adverse reaction and returns it.",
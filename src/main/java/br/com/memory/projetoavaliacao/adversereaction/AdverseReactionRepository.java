@@ -2,12 +2,21 @@ package br.com.memory.projetoavaliacao.adversereaction;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface AdverseReactionRepository extends JpaRepository<AdverseReaction, Long> {
-  @Query("FROM AdverseReaction ar WHERE :description IS NULL OR LOWER(ar.description) LIKE CONCAT('%', LOWER(:description), '%')")
-  public Page<AdverseReaction> findAllBy(String description, Pageable pageable);
+public interface AdverseReactionRepository extends
+    JpaRepository<AdverseReaction, Long>,
+    JpaSpecificationExecutor<AdverseReaction>,
+    AdverseReactionRepositoryCustom {
+  public default Page<AdverseReactionView> findAllBy(String description, Pageable pageable) {
+    return findViews(AdverseReactionSpecifications.descriptionContains(description), pageable);
+  }
+
+  public default Slice<AdverseReactionView> findSliceBy(String description, Pageable pageable) {
+    return findViewSlice(AdverseReactionSpecifications.descriptionContains(description), pageable);
+  }
 }
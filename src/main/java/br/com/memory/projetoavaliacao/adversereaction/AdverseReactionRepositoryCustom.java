@@ -0,0 +1,13 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+public interface AdverseReactionRepositoryCustom {
+  public Page<AdverseReactionView> findViews(@Nullable Specification<AdverseReaction> spec, Pageable pageable);
+
+  public Slice<AdverseReactionView> findViewSlice(@Nullable Specification<AdverseReaction> spec, Pageable pageable);
+}
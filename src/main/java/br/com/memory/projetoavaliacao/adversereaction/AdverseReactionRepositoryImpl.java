@@ -0,0 +1,27 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.memory.projetoavaliacao.shared.persistence.ProjectionSpecificationSupport;
+
+public class AdverseReactionRepositoryImpl extends ProjectionSpecificationSupport<AdverseReaction>
+    implements AdverseReactionRepositoryCustom {
+  public AdverseReactionRepositoryImpl(EntityManager entityManager) {
+    super(AdverseReaction.class, entityManager);
+  }
+
+  @Override
+  public Page<AdverseReactionView> findViews(Specification<AdverseReaction> spec, Pageable pageable) {
+    return findPage(spec, pageable, AdverseReactionView.class, "id", "description");
+  }
+
+  @Override
+  public Slice<AdverseReactionView> findViewSlice(Specification<AdverseReaction> spec, Pageable pageable) {
+    return findSlice(spec, pageable, AdverseReactionView.class, "id", "description");
+  }
+}
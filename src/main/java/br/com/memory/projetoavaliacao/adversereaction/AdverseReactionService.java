@@ -2,8 +2,11 @@ package br.com.memory.projetoavaliacao.adversereaction;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import br.com.memory.projetoavaliacao.medicine.MedicineCache;
 import br.com.memory.projetoavaliacao.medicine.MedicineRepository;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceLinkedToAnotherException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
@@ -11,14 +14,21 @@ import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
 @Service
+@Transactional(readOnly = true)
 public class AdverseReactionService {
   private final AdverseReactionRepository adverseReactionRepository;
   private final MedicineRepository medicineRepository;
+  private final MedicineCache medicineCache;
 
-  public Page<AdverseReaction> findAllBy(String description, Pageable pageable) {
+  public Page<AdverseReactionView> findAllBy(String description, Pageable pageable) {
     return adverseReactionRepository.findAllBy(description, pageable);
   }
 
+  public Slice<AdverseReactionView> findSliceBy(String description, Pageable pageable) {
+    return adverseReactionRepository.findSliceBy(description, pageable);
+  }
+
+  @Transactional
   public AdverseReaction create(AdverseReactionDto adverseReactionDto) {
     AdverseReaction adverseReaction = new AdverseReaction(
         adverseReactionDto.getDescription());
@@ -26,16 +36,19 @@ public class AdverseReactionService {
     return adverseReactionRepository.save(adverseReaction);
   }
 
+  @Transactional
   public AdverseReaction update(Long id, AdverseReactionDto adverseReactionDto) {
     AdverseReaction adverseReaction = adverseReactionRepository.findById(id)
         .orElseThrow(() -> new ResourceNotFoundException(
             String.format("Adverse reaction with id %s not found", id)));
 
     adverseReaction.setDescription(adverseReactionDto.getDescription());
+    medicineCache.invalidateAll();
 
     return adverseReactionRepository.save(adverseReaction);
   }
 
+  @Transactional
   public void deleteById(Long id) {
     boolean idExists = adverseReactionRepository.existsById(id);
 
@@ -0,0 +1,19 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public final class AdverseReactionSpecifications {
+  private AdverseReactionSpecifications() {
+  }
+
+  public static Specification<AdverseReaction> descriptionContains(String description) {
+    if (description == null) {
+      return null;
+    }
+    return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+        criteriaBuilder.lower(root.<String>get("description")),
+        "%" + description.toLowerCase(Locale.ROOT) + "%");
+  }
+}
@@ -0,0 +1,17 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class AdverseReactionView {
+  private Long id;
+  private String description;
+
+  public static AdverseReactionView of(AdverseReaction adverseReaction) {
+    return new AdverseReactionView(adverseReaction.getId(), adverseReaction.getDescription());
+  }
+}
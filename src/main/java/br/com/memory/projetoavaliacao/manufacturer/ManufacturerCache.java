@@ -0,0 +1,117 @@
+package br.com.memory.projetoavaliacao.manufacturer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class ManufacturerCache implements MeterBinder {
+  private final ManufacturerRepository manufacturerRepository;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+  public ManufacturerCache(ManufacturerRepository manufacturerRepository) {
+    this.manufacturerRepository = manufacturerRepository;
+  }
+
+  @PostConstruct
+  public synchronized void refresh() {
+    snapshot = Snapshot.of(manufacturerRepository.findAll());
+  }
+
+  public Optional<Manufacturer> findById(long id) {
+    Manufacturer manufacturer = snapshot.get(id);
+
+    if (manufacturer != null) {
+      hits.increment();
+      return Optional.of(manufacturer);
+    }
+
+    misses.increment();
+    return manufacturerRepository.findById(id).map(this::add);
+  }
+
+  public List<ManufacturerView> findAll() {
+    return snapshot.views;
+  }
+
+  public String getEntityTag() {
+    return snapshot.entityTag;
+  }
+
+  private synchronized Manufacturer add(Manufacturer manufacturer) {
+    Manufacturer cachedManufacturer = snapshot.get(manufacturer.getId());
+
+    if (cachedManufacturer != null) {
+      return cachedManufacturer;
+    }
+
+    Manufacturer[] manufacturers = Arrays.copyOf(snapshot.manufacturers, snapshot.manufacturers.length + 1);
+    manufacturers[manufacturers.length - 1] = manufacturer;
+    snapshot = Snapshot.of(Arrays.asList(manufacturers));
+    return manufacturer;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("manufacturer.cache.requests", hits, LongAdder::sum)
+        .tag("result", "hit")
+        .register(registry);
+    FunctionCounter.builder("manufacturer.cache.requests", misses, LongAdder::sum)
+        .tag("result", "miss")
+        .register(registry);
+    Gauge.builder("manufacturer.cache.size", this, cache -> cache.snapshot.ids.length)
+        .register(registry);
+  }
+
+  private static final class Snapshot {
+    private final long[] ids;
+    private final Manufacturer[] manufacturers;
+    private final List<ManufacturerView> views;
+    private final String entityTag;
+
+    private Snapshot(long[] ids, Manufacturer[] manufacturers, List<ManufacturerView> views, String entityTag) {
+      this.ids = ids;
+      this.manufacturers = manufacturers;
+      this.views = views;
+      this.entityTag = entityTag;
+    }
+
+    private static Snapshot of(List<Manufacturer> source) {
+      Manufacturer[] manufacturers = source.toArray(new Manufacturer[0]);
+      Arrays.sort(manufacturers, (first, second) -> Long.compare(first.getId(), second.getId()));
+
+      long[] ids = new long[manufacturers.length];
+      ManufacturerView[] views = new ManufacturerView[manufacturers.length];
+      StringBuilder content = new StringBuilder();
+
+      for (int i = 0; i < manufacturers.length; i++) {
+        ids[i] = manufacturers[i].getId();
+        views[i] = ManufacturerView.of(manufacturers[i]);
+        content.append(ids[i]).append('\u0000').append(manufacturers[i].getName()).append('\u0000');
+      }
+
+      String entityTag = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+      return new Snapshot(ids, manufacturers, Collections.unmodifiableList(Arrays.asList(views)), entityTag);
+    }
+
+    private Manufacturer get(long id) {
+      int index = Arrays.binarySearch(ids, id);
+      return index >= 0 ? manufacturers[index] : null;
+    }
+  }
+}
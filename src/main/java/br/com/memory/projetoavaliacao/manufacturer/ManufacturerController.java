@@ -1,16 +1,19 @@
 package br.com.memory.projetoavaliacao.manufacturer;
 
+import java.util.concurrent.TimeUnit;
+
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -22,20 +25,44 @@ import lombok.AllArgsConstructor;
 @RequestMapping("/manufacturers")
 @Tag(name = "Manufacturer", description = "The manufacturer resource API")
 public class ManufacturerController {
+  private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(10, TimeUnit.MINUTES).cachePublic();
+
   private final ManufacturerService manufacturerService;
 
   @Operation(
     summary = "Get all manufacturers",
     description = "Gets a paged list of manufacturers and filtered by name if provided.",
     responses = {
-      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(responseCode = "304", description = "Manufacturers did not change since the given ETag")
     }
   )
   @GetMapping
-  @ResponseStatus(HttpStatus.OK)
-  public Page<Manufacturer> findAllBy(
+  public ResponseEntity<Page<ManufacturerView>> findAllBy(
+      @Parameter(description = "The name to filter by") @RequestParam(required = false) String name,
+      @ParameterObject @PageableDefault Pageable pageable) {
+    return ResponseEntity.ok()
+        .eTag(manufacturerService.getEntityTag())
+        .cacheControl(CACHE_CONTROL)
+        .body(manufacturerService.findAllBy(name, pageable));
+  }
+
+  @Operation(
+    summary = "Get all manufacturers without total",
+    description = "Gets a sliced list of manufacturers and filtered by name if provided. "
+        + "Selected by count=false, it skips the total count and only tells whether there is a next slice.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(responseCode = "304", description = "Manufacturers did not change since the given ETag")
+    }
+  )
+  @GetMapping(params = "count=false")
+  public ResponseEntity<SliceResponse<ManufacturerView>> findSliceBy(
       @Parameter(description = "The name to filter by") @RequestParam(required = false) String name,
       @ParameterObject @PageableDefault Pageable pageable) {
-    return manufacturerService.findAllBy(name, pageable);
+    return ResponseEntity.ok()
+        .eTag(manufacturerService.getEntityTag())
+        .cacheControl(CACHE_CONTROL)
+        .body(SliceResponse.of(manufacturerService.findSliceBy(name, pageable)));
   }
 }
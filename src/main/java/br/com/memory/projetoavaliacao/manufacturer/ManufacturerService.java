@@ -1,7 +1,18 @@
 package br.com.memory.projetoavaliacao.manufacturer;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.ClassTypeInformation;
 import org.springframework.stereotype.Service;
 
 import lombok.AllArgsConstructor;
@@ -9,9 +20,76 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 @Service
 public class ManufacturerService {
-  private final ManufacturerRepository manufacturerRepository;
+  private final ManufacturerCache manufacturerCache;
+
+  public Page<ManufacturerView> findAllBy(String name, Pageable pageable) {
+    List<ManufacturerView> manufacturers = filterAndSort(name, pageable.getSort());
+    return new PageImpl<>(paginate(manufacturers, pageable), pageable, manufacturers.size());
+  }
+
+  public Slice<ManufacturerView> findSliceBy(String name, Pageable pageable) {
+    List<ManufacturerView> manufacturers = filterAndSort(name, pageable.getSort());
+    boolean hasNext = pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() < manufacturers.size();
+    return new SliceImpl<>(paginate(manufacturers, pageable), pageable, hasNext);
+  }
+
+  public String getEntityTag() {
+    return manufacturerCache.getEntityTag();
+  }
+
+  private List<ManufacturerView> filterAndSort(String name, Sort sort) {
+    List<ManufacturerView> manufacturers = manufacturerCache.findAll();
+
+    if (name != null) {
+      String lowerCaseName = name.toLowerCase(Locale.ROOT);
+      manufacturers = manufacturers.stream()
+          .filter(manufacturer -> manufacturer.getName().toLowerCase(Locale.ROOT).contains(lowerCaseName))
+          .collect(Collectors.toList());
+    }
+
+    if (sort.isUnsorted()) {
+      return manufacturers;
+    }
+
+    return manufacturers.stream()
+        .sorted(toComparator(sort))
+        .collect(Collectors.toList());
+  }
+
+  private Comparator<ManufacturerView> toComparator(Sort sort) {
+    Comparator<ManufacturerView> comparator = (first, second) -> 0;
+
+    for (Sort.Order order : sort) {
+      Comparator<ManufacturerView> propertyComparator = toComparator(order);
+      comparator = comparator.thenComparing(order.isAscending() ? propertyComparator : propertyComparator.reversed());
+    }
+
+    return comparator;
+  }
+
+  private Comparator<ManufacturerView> toComparator(Sort.Order order) {
+    switch (order.getProperty()) {
+      case "id":
+        return Comparator.comparing(ManufacturerView::getId);
+      case "name":
+        return Comparator.comparing(ManufacturerView::getName, order.isIgnoreCase()
+            ? String.CASE_INSENSITIVE_ORDER
+            : Comparator.naturalOrder());
+      default:
+        throw new PropertyReferenceException(
+            order.getProperty(),
+            ClassTypeInformation.from(Manufacturer.class),
+            List.of());
+    }
+  }
+
+  private List<ManufacturerView> paginate(List<ManufacturerView> manufacturers, Pageable pageable) {
+    if (pageable.isUnpaged()) {
+      return manufacturers;
+    }
 
-  public Page<Manufacturer> findAllBy(String name, Pageable pageable) {
-    return manufacturerRepository.findAllBy(name, pageable);
+    int fromIndex = (int) Math.min(pageable.getOffset(), manufacturers.size());
+    int toIndex = Math.min(fromIndex + pageable.getPageSize(), manufacturers.size());
+    return manufacturers.subList(fromIndex, toIndex);
   }
 }
@@ -0,0 +1,17 @@
+package br.com.memory.projetoavaliacao.manufacturer;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class ManufacturerView {
+  private Long id;
+  private String name;
+
+  public static ManufacturerView of(Manufacturer manufacturer) {
+    return new ManufacturerView(manufacturer.getId(), manufacturer.getName());
+  }
+}
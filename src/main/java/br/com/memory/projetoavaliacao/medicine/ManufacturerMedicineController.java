@@ -0,0 +1,76 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import javax.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.AllArgsConstructor;
+
+@AllArgsConstructor
+@RestController
+@RequestMapping("/manufacturers/{manufacturerId}/medicines")
+@Tag(name = "Medicine", description = "The medicine resource API")
+public class ManufacturerMedicineController {
+  private final MedicineService medicineService;
+
+  @Operation(
+    summary = "Reprice medicines of a manufacturer",
+    description = "Changes the price of every medicine of a manufacturer by the given percentage, rounded to cents, "
+        + "in a single statement and returns the number of affected medicines.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Manufacturer not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PostMapping("/reprice")
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineBulkUpdateResult reprice(
+      @Parameter(description = "The id of the manufacturer whose medicines are repriced") @PathVariable Long manufacturerId,
+      @Valid @RequestBody MedicineRepriceDto medicineRepriceDto) {
+    return medicineService.repriceAllByManufacturerId(manufacturerId, medicineRepriceDto.getPercentage());
+  }
+
+  @Operation(
+    summary = "Update medicines of a manufacturer",
+    description = "Sets the given expiration date and/or customer service phone on every medicine of a manufacturer "
+        + "in a single statement and returns the number of affected medicines.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Manufacturer not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PostMapping("/bulk-update")
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineBulkUpdateResult updateAll(
+      @Parameter(description = "The id of the manufacturer whose medicines are updated") @PathVariable Long manufacturerId,
+      @Valid @RequestBody MedicineBulkUpdateDto medicineBulkUpdateDto) {
+    return medicineService.updateAllByManufacturerId(manufacturerId, medicineBulkUpdateDto);
+  }
+}
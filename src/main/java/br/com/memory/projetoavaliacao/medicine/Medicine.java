@@ -11,9 +11,15 @@ import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
 import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
-import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -23,8 +29,8 @@ import lombok.Setter;
 @Setter
 @EqualsAndHashCode
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
+@DynamicUpdate
 public class Medicine {
   @Id
   private String registrationNumber;
@@ -38,9 +44,34 @@ public class Medicine {
   private Manufacturer manufacturer;
 
   @ManyToMany
+  @BatchSize(size = 100)
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
   @JoinTable(
     name = "medicine_adverse_reaction",
     joinColumns = @JoinColumn(name = "medicine_registration_number"),
     inverseJoinColumns = @JoinColumn(name = "adverse_reaction_id"))
   private Set<AdverseReaction> adverseReactions;
+
+  @JsonIgnore
+  @EqualsAndHashCode.Exclude
+  private String contentHash;
+
+  public Medicine(
+      String registrationNumber,
+      String name,
+      LocalDate expirationDate,
+      String customerServicePhone,
+      BigDecimal price,
+      Integer amountOfPills,
+      Manufacturer manufacturer,
+      Set<AdverseReaction> adverseReactions) {
+    this.registrationNumber = registrationNumber;
+    this.name = name;
+    this.expirationDate = expirationDate;
+    this.customerServicePhone = customerServicePhone;
+    this.price = price;
+    this.amountOfPills = amountOfPills;
+    this.manufacturer = manufacturer;
+    this.adverseReactions = adverseReactions;
+  }
 }
@@ -0,0 +1,39 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.time.LocalDate;
+
+import javax.validation.GroupSequence;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.Pattern;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import br.com.memory.projetoavaliacao.shared.validation.Extended;
+import br.com.memory.projetoavaliacao.shared.validation.PhoneNumber;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@GroupSequence({ MedicineBulkUpdateDto.class, Extended.class })
+public class MedicineBulkUpdateDto {
+  @JsonSetter(nulls = Nulls.FAIL)
+  private LocalDate expirationDate;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Pattern(regexp = "(?s).*\\S.*", message = "The customerServicePhone field must not be blank")
+  @PhoneNumber(message = "The customerServicePhone field has an invalid phone number format", groups = Extended.class)
+  private String customerServicePhone;
+
+  @JsonIgnore
+  @AssertTrue(message = "At least one of the expirationDate and customerServicePhone fields must be given")
+  public boolean isAnyFieldGiven() {
+    return expirationDate != null || customerServicePhone != null;
+  }
+}
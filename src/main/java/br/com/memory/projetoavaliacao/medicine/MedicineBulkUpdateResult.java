@@ -0,0 +1,13 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineBulkUpdateResult {
+  private long manufacturerId;
+  private int affectedMedicines;
+}
@@ -0,0 +1,166 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+@Component
+public class MedicineCache implements MeterBinder {
+  private static final long MAXIMUM_SIZE = 10_000;
+
+  private final MedicineRepository medicineRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectWriter medicineWriter;
+  private final AtomicLong version = new AtomicLong();
+  private final Cache<String, CachedMedicine> cache = Caffeine.newBuilder()
+      .maximumSize(MAXIMUM_SIZE)
+      .recordStats()
+      .build();
+
+  public MedicineCache(
+      MedicineRepository medicineRepository,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.medicineRepository = medicineRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.medicineWriter = objectMapper.writerFor(MedicineView.class);
+  }
+
+  public Optional<CachedMedicine> findByRegistrationNumber(String registrationNumber) {
+    CachedMedicine cachedMedicine = cache.getIfPresent(registrationNumber);
+
+    if (cachedMedicine != null) {
+      return Optional.of(cachedMedicine);
+    }
+
+    long loadedVersion = version.get();
+    Optional<CachedMedicine> loadedMedicine = transactionTemplate.execute(
+        status -> medicineRepository.findById(registrationNumber)
+            .map(MedicineView::of)
+            .map(this::encode));
+
+    loadedMedicine.ifPresent(medicine -> putIfCurrent(medicine, loadedVersion));
+    return loadedMedicine;
+  }
+
+  public Map<String, CachedMedicine> findAllByRegistrationNumber(Set<String> registrationNumbers) {
+    Map<String, CachedMedicine> medicines = new HashMap<>(cache.getAllPresent(registrationNumbers));
+
+    if (medicines.size() == registrationNumbers.size()) {
+      return medicines;
+    }
+
+    long loadedVersion = version.get();
+    Set<String> missingRegistrationNumbers = new HashSet<>(registrationNumbers);
+    missingRegistrationNumbers.removeAll(medicines.keySet());
+
+    List<MedicineView> loadedMedicines = transactionTemplate.execute(
+        status -> medicineRepository.findAllIn(missingRegistrationNumbers).stream()
+            .map(MedicineView::of)
+            .collect(Collectors.toList()));
+
+    for (MedicineView medicine : loadedMedicines) {
+      CachedMedicine cachedMedicine = encode(medicine);
+      putIfCurrent(cachedMedicine, loadedVersion);
+      medicines.put(medicine.getRegistrationNumber(), cachedMedicine);
+    }
+
+    return medicines;
+  }
+
+  public Function<MedicineView, MedicineJson> jsonEncoder() {
+    long loadedVersion = version.get();
+
+    return medicine -> {
+      CachedMedicine cachedMedicine = cache.getIfPresent(medicine.getRegistrationNumber());
+
+      if (cachedMedicine != null && cachedMedicine.getMedicine().equals(medicine)) {
+        return cachedMedicine.getJson();
+      }
+
+      CachedMedicine encodedMedicine = encode(medicine);
+      putIfCurrent(encodedMedicine, loadedVersion);
+      return encodedMedicine.getJson();
+    };
+  }
+
+  public void invalidate(String registrationNumber) {
+    version.incrementAndGet();
+    cache.invalidate(registrationNumber);
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          version.incrementAndGet();
+          cache.invalidate(registrationNumber);
+        }
+      });
+    }
+  }
+
+  public void invalidateAll() {
+    version.incrementAndGet();
+    cache.invalidateAll();
+
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          version.incrementAndGet();
+          cache.invalidateAll();
+        }
+      });
+    }
+  }
+
+  private void putIfCurrent(CachedMedicine medicine, long loadedVersion) {
+    cache.asMap().compute(
+        medicine.getMedicine().getRegistrationNumber(),
+        (registrationNumber, current) -> version.get() == loadedVersion ? medicine : current);
+  }
+
+  private CachedMedicine encode(MedicineView medicine) {
+    try {
+      byte[] json = medicineWriter.writeValueAsBytes(medicine);
+
+      return new CachedMedicine(
+          medicine,
+          new MedicineJson(new String(json, StandardCharsets.UTF_8)),
+          DigestUtils.md5DigestAsHex(json));
+    } catch (JsonProcessingException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    CaffeineCacheMetrics.monitor(registry, cache, "medicines");
+  }
+}
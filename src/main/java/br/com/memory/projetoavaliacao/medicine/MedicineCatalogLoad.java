@@ -0,0 +1,67 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.Getter;
+
+@Getter
+public class MedicineCatalogLoad {
+  private final UUID id;
+  private final long totalBytes;
+  private final Instant createdAt;
+  private volatile MedicineCatalogLoadStatus status = MedicineCatalogLoadStatus.QUEUED;
+  private volatile long copiedBytes;
+  private volatile long copiedRows;
+  private volatile long loaded;
+  private volatile long rejected;
+  private volatile List<MedicineImportError> errors = List.of();
+  private volatile String failureMessage;
+  private volatile Instant finishedAt;
+
+  public MedicineCatalogLoad(UUID id, long totalBytes) {
+    this.id = id;
+    this.totalBytes = totalBytes;
+    this.createdAt = Instant.now();
+  }
+
+  public int getProgress() {
+    if (status == MedicineCatalogLoadStatus.COMPLETED) {
+      return 100;
+    }
+
+    if (totalBytes == 0) {
+      return 0;
+    }
+
+    return (int) (copiedBytes * 100 / totalBytes);
+  }
+
+  void copying() {
+    status = MedicineCatalogLoadStatus.COPYING;
+  }
+
+  void copied(long bytes) {
+    copiedBytes += bytes;
+  }
+
+  void merging(long rows) {
+    copiedRows = rows;
+    status = MedicineCatalogLoadStatus.MERGING;
+  }
+
+  void completed(long loadedRows, long rejectedRows, List<MedicineImportError> rejectedRowErrors) {
+    loaded = loadedRows;
+    rejected = rejectedRows;
+    errors = rejectedRowErrors;
+    finishedAt = Instant.now();
+    status = MedicineCatalogLoadStatus.COMPLETED;
+  }
+
+  void failed(String message) {
+    failureMessage = message;
+    finishedAt = Instant.now();
+    status = MedicineCatalogLoadStatus.FAILED;
+  }
+}
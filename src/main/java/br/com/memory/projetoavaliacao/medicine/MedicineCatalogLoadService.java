@@ -0,0 +1,95 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+
+@Service
+public class MedicineCatalogLoadService {
+  private static final long MAXIMUM_RETAINED_LOADS = 100;
+  private static final Duration RETENTION = Duration.ofDays(1);
+
+  private final MedicineCatalogLoader medicineCatalogLoader;
+  private final ExecutorService executor;
+  private final Cache<UUID, MedicineCatalogLoad> catalogLoads = Caffeine.newBuilder()
+      .maximumSize(MAXIMUM_RETAINED_LOADS)
+      .expireAfterWrite(RETENTION)
+      .build();
+
+  @Autowired
+  public MedicineCatalogLoadService(MedicineCatalogLoader medicineCatalogLoader) {
+    this(medicineCatalogLoader, Executors.newSingleThreadExecutor());
+  }
+
+  MedicineCatalogLoadService(MedicineCatalogLoader medicineCatalogLoader, ExecutorService executor) {
+    this.medicineCatalogLoader = medicineCatalogLoader;
+    this.executor = executor;
+  }
+
+  public MedicineCatalogLoad start(InputStream catalog) throws IOException {
+    Path catalogFile = Files.createTempFile("medicine-catalog-", ".csv");
+
+    try {
+      Files.copy(catalog, catalogFile, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException exception) {
+      Files.deleteIfExists(catalogFile);
+      throw exception;
+    }
+
+    MedicineCatalogLoad catalogLoad = new MedicineCatalogLoad(UUID.randomUUID(), Files.size(catalogFile));
+    catalogLoads.put(catalogLoad.getId(), catalogLoad);
+
+    try {
+      executor.execute(() -> load(catalogFile, catalogLoad));
+    } catch (RejectedExecutionException exception) {
+      catalogLoads.invalidate(catalogLoad.getId());
+      Files.deleteIfExists(catalogFile);
+      throw exception;
+    }
+
+    return catalogLoad;
+  }
+
+  public MedicineCatalogLoad findById(UUID id) {
+    return Optional.ofNullable(catalogLoads.getIfPresent(id))
+        .orElseThrow(() -> new ResourceNotFoundException(
+            String.format("Catalog load with id %s not found", id)));
+  }
+
+  private void load(Path catalogFile, MedicineCatalogLoad catalogLoad) {
+    try {
+      medicineCatalogLoader.load(catalogFile, catalogLoad);
+    } catch (RuntimeException exception) {
+      catalogLoad.failed(NestedExceptionUtils.getMostSpecificCause(exception).getMessage());
+    } catch (Throwable exception) {
+      catalogLoad.failed(NestedExceptionUtils.getMostSpecificCause(exception).getMessage());
+      throw exception;
+    } finally {
+      catalogFile.toFile().delete();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,9 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+public enum MedicineCatalogLoadStatus {
+  QUEUED,
+  COPYING,
+  MERGING,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,272 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+
+@Component
+public class MedicineCatalogLoader {
+  private static final int MAX_REPORTED_ERRORS = 1000;
+  private static final String ADVERSE_REACTION_ID_SEPARATOR = ";";
+
+  private static final List<String> STAGING_TABLES = List.of(
+      "CREATE TEMP TABLE medicine_load ("
+          + "row_number BIGINT GENERATED ALWAYS AS IDENTITY (MINVALUE 0 START WITH 0) PRIMARY KEY, "
+          + "registration_number TEXT, "
+          + "name TEXT, "
+          + "expiration_date TEXT, "
+          + "customer_service_phone TEXT, "
+          + "price TEXT, "
+          + "amount_of_pills TEXT, "
+          + "manufacturer_id TEXT, "
+          + "adverse_reaction_ids TEXT"
+          + ") ON COMMIT DROP",
+      "CREATE TEMP TABLE medicine_load_error ("
+          + "row_number BIGINT PRIMARY KEY, "
+          + "message TEXT NOT NULL"
+          + ") ON COMMIT DROP");
+
+  private static final String COPY_SQL = "COPY medicine_load ("
+      + "registration_number, name, expiration_date, customer_service_phone, "
+      + "price, amount_of_pills, manufacturer_id, adverse_reaction_ids"
+      + ") FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+  private static final List<String> FIELD_RULES = List.of(
+      rule("NULLIF(btrim(registration_number), '') IS NULL", "The registrationNumber field must not be blank"),
+      rule("NULLIF(btrim(name), '') IS NULL", "The name field must not be blank"),
+      rule("NULLIF(btrim(expiration_date), '') IS NULL", "The expirationDate field must not be null"),
+      rule("NULLIF(btrim(customer_service_phone), '') IS NULL", "The customerServicePhone field must not be blank"),
+      rule("NULLIF(btrim(price), '') IS NULL", "The price field must not be null"),
+      rule("NULLIF(btrim(amount_of_pills), '') IS NULL", "The amountOfPills field must not be null"),
+      rule("NULLIF(btrim(manufacturer_id), '') IS NULL", "The manufacturerId field must not be null"),
+      rule("NULLIF(btrim(adverse_reaction_ids), '') IS NULL", "The adverseReactionIds field must not be null nor empty"),
+      rule("registration_number !~ '^\\d\\.\\d{4}\\.\\d{4}\\.\\d{3}-\\d$'",
+          "The registrationNumber field has an invalid ANVISA registration number"),
+      rule("customer_service_phone !~ '^\\(\\d{2}\\)\\d{4}-\\d{4}$'",
+          "The customerServicePhone field has an invalid phone number format"),
+      rule("CASE "
+          + "WHEN expiration_date !~ '^\\d{2}/\\d{2}/\\d{4}$' THEN true "
+          + "WHEN substr(expiration_date, 4, 2)::int NOT BETWEEN 1 AND 12 "
+          + "OR substr(expiration_date, 7, 4)::int < 1 THEN true "
+          + "ELSE substr(expiration_date, 1, 2)::int NOT BETWEEN 1 AND extract(day FROM "
+          + "make_date(substr(expiration_date, 7, 4)::int, substr(expiration_date, 4, 2)::int, 1) "
+          + "+ interval '1 month' - interval '1 day') "
+          + "END",
+          "The expirationDate field has an invalid date format"),
+      rule("btrim(price) ~ '^-\\d+(\\.\\d+)?$'", "The price field must not be negative"),
+      rule("CASE "
+          + "WHEN btrim(price) !~ '^\\d+(\\.\\d+)?$' THEN true "
+          + "ELSE round(btrim(price)::NUMERIC, 2) >= 100000000000000 "
+          + "END",
+          "The price field has an invalid type or format"),
+      rule("btrim(amount_of_pills) ~ '^-\\d+$'", "The amountOfPills field must not be negative"),
+      rule("CASE "
+          + "WHEN btrim(amount_of_pills) !~ '^\\d{1,5}$' THEN true "
+          + "ELSE btrim(amount_of_pills)::int > 32767 "
+          + "END",
+          "The amountOfPills field has an invalid type or format"),
+      rule("btrim(manufacturer_id) !~ '^\\d{1,18}$'", "The manufacturerId field has an invalid type or format"),
+      rule("EXISTS (SELECT 1 FROM unnest(string_to_array(adverse_reaction_ids, '" + ADVERSE_REACTION_ID_SEPARATOR
+          + "')) AS adverse_reaction_id WHERE btrim(adverse_reaction_id) !~ '^\\d{1,18}$')",
+          "The adverseReactionIds field has an invalid type or format"));
+
+  private static final List<String> TYPED_TABLES = List.of(
+      "CREATE TEMP TABLE medicine_load_row ON COMMIT DROP AS "
+          + "SELECT l.row_number, "
+          + "l.registration_number, "
+          + "l.name, "
+          + "to_date(l.expiration_date, 'DD/MM/YYYY') AS expiration_date, "
+          + "l.customer_service_phone, "
+          + "btrim(l.price)::NUMERIC(16, 2) AS price, "
+          + "btrim(l.amount_of_pills)::SMALLINT AS amount_of_pills, "
+          + "btrim(l.manufacturer_id)::BIGINT AS manufacturer_id, "
+          + "l.adverse_reaction_ids "
+          + "FROM medicine_load l "
+          + "WHERE NOT EXISTS (SELECT 1 FROM medicine_load_error e WHERE e.row_number = l.row_number)",
+      "CREATE TEMP TABLE medicine_load_reaction ON COMMIT DROP AS "
+          + "SELECT DISTINCT r.row_number, btrim(adverse_reaction_id)::BIGINT AS adverse_reaction_id "
+          + "FROM medicine_load_row r, "
+          + "unnest(string_to_array(r.adverse_reaction_ids, '" + ADVERSE_REACTION_ID_SEPARATOR + "')) AS adverse_reaction_id");
+
+  private static final List<String> REFERENCE_RULES = List.of(
+      "SELECT r.row_number, 'Manufacturer with id ' || r.manufacturer_id || ' not found' "
+          + "FROM medicine_load_row r "
+          + "WHERE NOT EXISTS (SELECT 1 FROM manufacturer m WHERE m.id = r.manufacturer_id)",
+      "SELECT lr.row_number, count(*) || ' adverse reactions were not found' "
+          + "FROM medicine_load_reaction lr "
+          + "WHERE NOT EXISTS (SELECT 1 FROM adverse_reaction ar WHERE ar.id = lr.adverse_reaction_id) "
+          + "GROUP BY lr.row_number",
+      "SELECT d.row_number, 'A medicine with registration number ' || d.registration_number "
+          + "|| ' appears more than once in the catalog' "
+          + "FROM (SELECT r.row_number, r.registration_number, "
+          + "row_number() OVER (PARTITION BY r.registration_number ORDER BY r.row_number) AS occurrence "
+          + "FROM medicine_load_row r "
+          + "WHERE NOT EXISTS (SELECT 1 FROM medicine_load_error e WHERE e.row_number = r.row_number)) d "
+          + "WHERE d.occurrence > 1");
+
+  private static final String VALID_ROW_CONDITION =
+      "NOT EXISTS (SELECT 1 FROM medicine_load_error e WHERE e.row_number = r.row_number)";
+
+  private static final String MERGE_MEDICINES_SQL = "INSERT INTO medicine ("
+      + "registration_number, name, expiration_date, customer_service_phone, price, amount_of_pills, manufacturer_id"
+      + ") SELECT r.registration_number, r.name, r.expiration_date, r.customer_service_phone, "
+      + "r.price, r.amount_of_pills, r.manufacturer_id "
+      + "FROM medicine_load_row r "
+      + "WHERE " + VALID_ROW_CONDITION + " "
+      + "ON CONFLICT (registration_number) DO UPDATE SET "
+      + "name = EXCLUDED.name, "
+      + "expiration_date = EXCLUDED.expiration_date, "
+      + "customer_service_phone = EXCLUDED.customer_service_phone, "
+      + "price = EXCLUDED.price, "
+      + "amount_of_pills = EXCLUDED.amount_of_pills, "
+      + "manufacturer_id = EXCLUDED.manufacturer_id, "
+      + "content_hash = NULL";
+
+  private static final String DELETE_STALE_ADVERSE_REACTIONS_SQL = "DELETE FROM medicine_adverse_reaction mar "
+      + "USING medicine_load_row r "
+      + "WHERE mar.medicine_registration_number = r.registration_number "
+      + "AND " + VALID_ROW_CONDITION + " "
+      + "AND NOT EXISTS (SELECT 1 FROM medicine_load_reaction lr "
+      + "WHERE lr.row_number = r.row_number AND lr.adverse_reaction_id = mar.adverse_reaction_id)";
+
+  private static final String INSERT_ADVERSE_REACTIONS_SQL = "INSERT INTO medicine_adverse_reaction ("
+      + "medicine_registration_number, adverse_reaction_id"
+      + ") SELECT r.registration_number, lr.adverse_reaction_id "
+      + "FROM medicine_load_row r "
+      + "JOIN medicine_load_reaction lr ON lr.row_number = r.row_number "
+      + "WHERE " + VALID_ROW_CONDITION + " "
+      + "ON CONFLICT DO NOTHING";
+
+  private static final String COUNT_ERRORS_SQL = "SELECT count(*) FROM medicine_load_error";
+
+  private static final String FIND_ERRORS_SQL = "SELECT e.row_number, l.registration_number, e.message "
+      + "FROM medicine_load_error e "
+      + "JOIN medicine_load l ON l.row_number = e.row_number "
+      + "ORDER BY e.row_number "
+      + "LIMIT " + MAX_REPORTED_ERRORS;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionOperations transactionOperations;
+  private final EntityManagerFactory entityManagerFactory;
+  private final MedicineCache medicineCache;
+
+  public MedicineCatalogLoader(
+      JdbcTemplate jdbcTemplate,
+      TransactionOperations transactionOperations,
+      EntityManagerFactory entityManagerFactory,
+      MedicineCache medicineCache) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionOperations = transactionOperations;
+    this.entityManagerFactory = entityManagerFactory;
+    this.medicineCache = medicineCache;
+  }
+
+  public void load(Path catalog, MedicineCatalogLoad catalogLoad) {
+    MergeResult result = transactionOperations.execute(status -> {
+      STAGING_TABLES.forEach(jdbcTemplate::execute);
+
+      catalogLoad.copying();
+      long copiedRows = copy(catalog, catalogLoad);
+
+      catalogLoad.merging(copiedRows);
+      FIELD_RULES.forEach(this::reject);
+      TYPED_TABLES.forEach(jdbcTemplate::execute);
+      REFERENCE_RULES.forEach(this::reject);
+
+      long loadedRows = jdbcTemplate.update(MERGE_MEDICINES_SQL);
+      jdbcTemplate.update(DELETE_STALE_ADVERSE_REACTIONS_SQL);
+      jdbcTemplate.update(INSERT_ADVERSE_REACTIONS_SQL);
+
+      Long rejectedRows = jdbcTemplate.queryForObject(COUNT_ERRORS_SQL, Long.class);
+      List<MedicineImportError> errors = jdbcTemplate.query(
+          FIND_ERRORS_SQL,
+          (resultSet, rowNumber) -> new MedicineImportError(
+              resultSet.getLong("row_number"),
+              resultSet.getString("registration_number"),
+              resultSet.getString("message")));
+
+      return new MergeResult(loadedRows, rejectedRows, errors);
+    });
+
+    entityManagerFactory.unwrap(SessionFactory.class)
+        .getCache()
+        .evictCollectionData(Medicine.class.getName() + ".adverseReactions");
+    medicineCache.invalidateAll();
+
+    catalogLoad.completed(result.loadedRows, result.rejectedRows, result.errors);
+  }
+
+  private long copy(Path catalog, MedicineCatalogLoad catalogLoad) {
+    return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+      try (InputStream inputStream = new ProgressInputStream(Files.newInputStream(catalog), catalogLoad)) {
+        return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, inputStream);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    });
+  }
+
+  private void reject(String rule) {
+    jdbcTemplate.update("INSERT INTO medicine_load_error (row_number, message) "
+        + rule + " "
+        + "ON CONFLICT (row_number) DO NOTHING");
+  }
+
+  private static String rule(String condition, String message) {
+    return "SELECT row_number, '" + message + "' FROM medicine_load WHERE " + condition;
+  }
+
+  private static class MergeResult {
+    private final long loadedRows;
+    private final long rejectedRows;
+    private final List<MedicineImportError> errors;
+
+    private MergeResult(long loadedRows, long rejectedRows, List<MedicineImportError> errors) {
+      this.loadedRows = loadedRows;
+      this.rejectedRows = rejectedRows;
+      this.errors = errors;
+    }
+  }
+
+  private static class ProgressInputStream extends FilterInputStream {
+    private final MedicineCatalogLoad catalogLoad;
+
+    private ProgressInputStream(InputStream inputStream, MedicineCatalogLoad catalogLoad) {
+      super(inputStream);
+      this.catalogLoad = catalogLoad;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int value = super.read();
+
+      if (value != -1) {
+        catalogLoad.copied(1);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int count = super.read(buffer, offset, length);
+
+      if (count > 0) {
+        catalogLoad.copied(count);
+      }
+      return count;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import org.springframework.util.DigestUtils;
+
+final class MedicineContentHash {
+  private static final String SEPARATOR = "\u001f";
+
+  private MedicineContentHash() {
+  }
+
+  static String of(MedicineCreationDto medicine) {
+    String content = String.join(SEPARATOR,
+        medicine.getRegistrationNumber(),
+        medicine.getName(),
+        medicine.getExpirationDate().toString(),
+        medicine.getCustomerServicePhone(),
+        medicine.getPrice().stripTrailingZeros().toPlainString(),
+        medicine.getAmountOfPills().toString(),
+        medicine.getManufacturerId().toString(),
+        medicine.getAdverseReactionIds().stream()
+            .sorted()
+            .map(String::valueOf)
+            .collect(Collectors.joining(",")));
+
+    return DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
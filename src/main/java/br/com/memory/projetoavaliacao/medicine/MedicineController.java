@@ -1,5 +1,9 @@
 package br.com.memory.projetoavaliacao.medicine;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
 import javax.validation.Valid;
 
 import org.springdoc.api.annotations.ParameterObject;
@@ -7,8 +11,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -17,8 +24,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
+import br.com.memory.projetoavaliacao.shared.pagination.CursorPage;
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -33,6 +44,10 @@ import lombok.AllArgsConstructor;
 @Tag(name = "Medicine", description = "The medicine resource API")
 public class MedicineController {
   private final MedicineService medicineService;
+  private final MedicineImporter medicineImporter;
+  private final MedicineCatalogLoadService medicineCatalogLoadService;
+  private final MedicineSynchronizer medicineSynchronizer;
+  private final MedicineExporter medicineExporter;
 
   @Operation(
     summary = "Get all medicines",
@@ -43,13 +58,97 @@ public class MedicineController {
   )
   @GetMapping
   @ResponseStatus(HttpStatus.OK)
-  public Page<Medicine> findAllBy(
+  public Page<MedicineJson> findAllBy(
       @Parameter(description = "The registration number to filter by") @RequestParam(required = false) String registrationNumber,
       @Parameter(description = "The name to filter by") @RequestParam(required = false) String name,
       @ParameterObject @PageableDefault Pageable pageable) {
     return medicineService.findAllBy(registrationNumber, name, pageable);
   }
 
+  @Operation(
+    summary = "Get all medicines without total",
+    description = "Gets a sliced list of medicines and filtered by registration number or name if provided. "
+        + "Selected by count=false without a cursor, it skips the total count and only tells whether there is a next slice.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+    }
+  )
+  @GetMapping(params = { "count=false", "!cursor" })
+  @ResponseStatus(HttpStatus.OK)
+  public SliceResponse<MedicineJson> findSliceBy(
+      @Parameter(description = "The registration number to filter by") @RequestParam(required = false) String registrationNumber,
+      @Parameter(description = "The name to filter by") @RequestParam(required = false) String name,
+      @ParameterObject @PageableDefault Pageable pageable) {
+    return SliceResponse.of(medicineService.findSliceBy(registrationNumber, name, pageable));
+  }
+
+  @Operation(
+    summary = "Get all medicines by cursor",
+    description = "Gets a list of medicines that follows the given cursor and filtered by registration number or name if provided. "
+        + "An empty cursor starts from the first page and the nextCursor of the response resumes from the last returned medicine.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid cursor",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @GetMapping(params = "cursor")
+  @ResponseStatus(HttpStatus.OK)
+  public CursorPage<MedicineJson> findAllAfter(
+      @Parameter(description = "The registration number to filter by") @RequestParam(required = false) String registrationNumber,
+      @Parameter(description = "The name to filter by") @RequestParam(required = false) String name,
+      @Parameter(description = "The cursor of the previous page, empty for the first page") @RequestParam(required = false) String cursor,
+      @Parameter(description = "The order of the first page, resumed pages follow the order of their cursor") @RequestParam(defaultValue = "REGISTRATION_NUMBER") MedicineOrder orderBy,
+      @Parameter(description = "The page size") @RequestParam(defaultValue = "10") int size) {
+    MedicineCursor medicineCursor = cursor == null || cursor.isBlank()
+        ? MedicineCursor.first(orderBy)
+        : MedicineCursor.decode(cursor);
+
+    return medicineService.findAllAfter(registrationNumber, name, medicineCursor, size);
+  }
+
+  @Operation(
+    summary = "Export all medicines",
+    description = "Streams every medicine with its manufacturer id and adverse reaction ids as newline-delimited JSON or CSV, "
+        + "whose records have the shape accepted by the import, sync and catalog load endpoints, "
+        + "or as an Arrow IPC stream of record batches for analytics.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+    }
+  )
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> export(
+      @Parameter(description = "The export format") @RequestParam(defaultValue = "NDJSON") MedicineExportFormat format) {
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .body(outputStream -> medicineExporter.export(format, outputStream));
+  }
+
+  @Operation(
+    summary = "Get medicine by registration number",
+    description = "Gets a medicine with its manufacturer and adverse reactions by its registration number.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(responseCode = "304", description = "Medicine did not change since the given ETag"),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Registration number not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @GetMapping("/{registrationNumber}")
+  @Timed(value = "medicines.lookup", histogram = true)
+  public ResponseEntity<MedicineJson> findByRegistrationNumber(
+      @Parameter(description = "The registration number of the medicine") @PathVariable String registrationNumber) {
+    CachedMedicine medicine = medicineService.findByRegistrationNumber(registrationNumber);
+
+    return ResponseEntity.ok()
+        .eTag(medicine.getEntityTag())
+        .body(medicine.getJson());
+  }
+
   @Operation(
     summary = "Create medicine",
     description = "Creates a medicine and returns it.",
@@ -75,6 +174,89 @@ public class MedicineController {
     return medicineService.create(medicineCreationDto);
   }
 
+  @Operation(
+    summary = "Get medicines by registration numbers",
+    description = "Gets up to 500 medicines with their manufacturers and adverse reactions in the order of the given "
+        + "registration numbers, listing the registration numbers that were not found separately.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PostMapping("/lookup")
+  @ResponseStatus(HttpStatus.OK)
+  @Timed(value = "medicines.lookup.batch", histogram = true)
+  public MedicineLookupResult findAllByRegistrationNumber(@Valid @RequestBody MedicineLookupDto medicineLookupDto) {
+    return medicineService.findAllByRegistrationNumber(medicineLookupDto.getRegistrationNumbers());
+  }
+
+  @Operation(
+    summary = "Import medicines",
+    description = "Imports medicines from a JSON array or newline-delimited JSON, committing them in chunks. "
+        + "Rows that fail validation, reference missing resources or already exist are reported and skipped.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+    }
+  )
+  @PostMapping(path = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineImportReport importAll(
+      @Parameter(description = "The number of medicines committed per transaction") @RequestParam(defaultValue = "500") int chunkSize,
+      InputStream body) throws IOException {
+    return medicineImporter.importAll(body, chunkSize);
+  }
+
+  @Operation(
+    summary = "Synchronize medicines",
+    description = "Synchronizes the medicines with a full feed given as a JSON array or newline-delimited JSON. "
+        + "Only new and changed medicines are written and medicines missing from the feed are deleted, "
+        + "unless some row of the feed could not be identified by its registration number.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded")
+    }
+  )
+  @PostMapping(path = "/sync", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineSyncReport sync(InputStream body) throws IOException {
+    return medicineSynchronizer.sync(body);
+  }
+
+  @Operation(
+    summary = "Load medicine catalog",
+    description = "Starts loading a CSV catalog of medicines in the background and returns the load to be followed. "
+        + "The CSV has a header row, dates in dd/MM/yyyy and adverse reaction ids separated by semicolons. "
+        + "Valid rows create or replace medicines and rows that fail validation or reference missing resources are reported.",
+    responses = {
+      @ApiResponse(responseCode = "202", description = "Operation accepted")
+    }
+  )
+  @PostMapping(path = "/catalog-loads", consumes = "text/csv")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public MedicineCatalogLoad loadCatalog(InputStream body) throws IOException {
+    return medicineCatalogLoadService.start(body);
+  }
+
+  @Operation(
+    summary = "Get medicine catalog load by id",
+    description = "Gets the status and progress of a medicine catalog load by its id.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Catalog load id not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @GetMapping("/catalog-loads/{id}")
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineCatalogLoad findCatalogLoadById(
+      @Parameter(description = "The id of the catalog load") @PathVariable UUID id) {
+    return medicineCatalogLoadService.findById(id);
+  }
+
   @Operation(
     summary = "Update medicine",
     description = "Updates a medicine by its registration number and returns it.",
@@ -98,6 +280,107 @@ public class MedicineController {
     return medicineService.update(registrationNumber, medicineUpdateDto);
   }
 
+  @Operation(
+    summary = "Patch medicine",
+    description = "Applies a JSON merge patch to a medicine by its registration number and returns it. "
+        + "Only the given fields are written, and the manufacturer and adverse reactions are only looked up when given. "
+        + "Fields cannot be removed, so null values are rejected.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Registration number, manufacturer id or adverse reaction id not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PatchMapping(path = "/{registrationNumber}", consumes = { "application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE })
+  @ResponseStatus(HttpStatus.OK)
+  public Medicine patch(
+      @Parameter(description = "The registration number of the medicine to be patched") @PathVariable String registrationNumber,
+      @Valid @RequestBody MedicinePatchDto medicinePatchDto) {
+    return medicineService.patch(registrationNumber, medicinePatchDto);
+  }
+
+  @Operation(
+    summary = "Adjust medicine stock",
+    description = "Atomically adds the given delta, which may be negative, to the amount of pills of a medicine "
+        + "and returns the new amount. The adjustment is refused when it would leave the stock negative.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Registration number not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "409",
+        description = "Not enough stock for the adjustment",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PostMapping("/{registrationNumber}/stock/adjust")
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineStock adjustStock(
+      @Parameter(description = "The registration number of the medicine whose stock is adjusted") @PathVariable String registrationNumber,
+      @Valid @RequestBody MedicineStockAdjustmentDto medicineStockAdjustmentDto) {
+    return medicineService.adjustStock(registrationNumber, medicineStockAdjustmentDto.getDelta());
+  }
+
+  @Operation(
+    summary = "Defer medicine stock adjustment",
+    description = "Buffers the given delta in memory and applies it to the amount of pills of a medicine together "
+        + "with other pending adjustments in a periodic batched update. Selected by deferred=true, it returns the "
+        + "projected amount and refuses the adjustment when the projected stock would become negative. Pending "
+        + "adjustments not yet written are lost if the application stops abruptly.",
+    responses = {
+      @ApiResponse(responseCode = "202", description = "Adjustment accepted"),
+      @ApiResponse(
+        responseCode = "400",
+        description = "Invalid request body",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Registration number not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+      @ApiResponse(
+        responseCode = "409",
+        description = "Not enough stock for the adjustment",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @PostMapping(path = "/{registrationNumber}/stock/adjust", params = "deferred=true")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public MedicineStock deferStockAdjustment(
+      @Parameter(description = "The registration number of the medicine whose stock is adjusted") @PathVariable String registrationNumber,
+      @Valid @RequestBody MedicineStockAdjustmentDto medicineStockAdjustmentDto) {
+    return medicineService.deferStockAdjustment(registrationNumber, medicineStockAdjustmentDto.getDelta());
+  }
+
+  @Operation(
+    summary = "Find medicine stock",
+    description = "Writes any pending deferred adjustments of a medicine and returns its current amount of pills.",
+    responses = {
+      @ApiResponse(responseCode = "200", description = "Operation succeeded"),
+      @ApiResponse(
+        responseCode = "404",
+        description = "Registration number not found",
+        content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    }
+  )
+  @GetMapping("/{registrationNumber}/stock")
+  @ResponseStatus(HttpStatus.OK)
+  public MedicineStock findStock(
+      @Parameter(description = "The registration number of the medicine whose stock is returned") @PathVariable String registrationNumber) {
+    return medicineService.findStock(registrationNumber);
+  }
+
   @Operation(
     summary = "Delete medicine by registration number",
     description = "Deletes a medicine by its registration number.",
@@ -0,0 +1,48 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import br.com.memory.projetoavaliacao.shared.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineCursor {
+  private static final String SEPARATOR = "\u0000";
+
+  private MedicineOrder order;
+  private String name;
+  private String registrationNumber;
+
+  public static MedicineCursor first(MedicineOrder order) {
+    return new MedicineCursor(order, "", "");
+  }
+
+  public static MedicineCursor decode(String encodedCursor) {
+    try {
+      String decodedCursor = new String(Base64.getUrlDecoder().decode(encodedCursor), StandardCharsets.UTF_8);
+      String[] parts = decodedCursor.split(SEPARATOR, -1);
+
+      if (parts.length != 3) {
+        throw new InvalidCursorException("The cursor parameter is invalid");
+      }
+
+      return new MedicineCursor(MedicineOrder.valueOf(parts[0]), parts[1], parts[2]);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCursorException("The cursor parameter is invalid");
+    }
+  }
+
+  public MedicineCursor after(MedicineView medicine) {
+    return new MedicineCursor(order, medicine.getName(), medicine.getRegistrationNumber());
+  }
+
+  public String encode() {
+    String decodedCursor = String.join(SEPARATOR, order.name(), name, registrationNumber);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(decodedCursor.getBytes(StandardCharsets.UTF_8));
+  }
+}
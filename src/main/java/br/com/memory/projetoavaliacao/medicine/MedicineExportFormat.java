@@ -0,0 +1,16 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import org.springframework.http.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum MedicineExportFormat {
+  NDJSON(MediaType.APPLICATION_NDJSON),
+  CSV(new MediaType("text", "csv")),
+  ARROW(new MediaType("application", "vnd.apache.arrow.stream"));
+
+  private final MediaType mediaType;
+}
@@ -0,0 +1,296 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.RoundingMode;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.DecimalVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.complex.ListVector;
+import org.apache.arrow.vector.complex.impl.UnionListWriter;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+@Component
+public class MedicineExporter {
+  private static final int FETCH_SIZE = 1000;
+  private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+  private static final String CSV_HEADER = "registration_number,name,expiration_date,customer_service_phone,"
+      + "price,amount_of_pills,manufacturer_id,adverse_reaction_ids";
+
+  private static final int ARROW_BATCH_SIZE = 4096;
+  private static final int PRICE_PRECISION = 16;
+  private static final int PRICE_SCALE = 2;
+  private static final Schema ARROW_SCHEMA = new Schema(List.of(
+      Field.notNullable("registrationNumber", ArrowType.Utf8.INSTANCE),
+      Field.notNullable("name", ArrowType.Utf8.INSTANCE),
+      Field.notNullable("expirationDate", new ArrowType.Date(DateUnit.DAY)),
+      Field.notNullable("price", new ArrowType.Decimal(PRICE_PRECISION, PRICE_SCALE, 128)),
+      Field.notNullable("amountOfPills", new ArrowType.Int(32, true)),
+      Field.notNullable("manufacturerId", new ArrowType.Int(64, true)),
+      new Field(
+          "adverseReactionIds",
+          FieldType.notNullable(ArrowType.List.INSTANCE),
+          List.of(Field.notNullable("item", new ArrowType.Int(64, true))))));
+
+  private static final String EXPORT_SQL = "SELECT m.registration_number, m.name, m.expiration_date, "
+      + "m.customer_service_phone, m.price, m.amount_of_pills, m.manufacturer_id, mar.adverse_reaction_id "
+      + "FROM medicine m "
+      + "LEFT JOIN medicine_adverse_reaction mar ON mar.medicine_registration_number = m.registration_number "
+      + "ORDER BY m.registration_number, mar.adverse_reaction_id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectWriter medicineWriter;
+
+  public MedicineExporter(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.medicineWriter = objectMapper.writerFor(MedicineCreationDto.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+        .withRootValueSeparator("\n");
+  }
+
+  public void export(MedicineExportFormat format, OutputStream outputStream) throws IOException {
+    try (RecordWriter recordWriter = createRecordWriter(format, outputStream)) {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(
+          EXPORT_SQL,
+          new MedicineRecordExtractor(recordWriter)));
+    } catch (UncheckedIOException exception) {
+      throw exception.getCause();
+    }
+  }
+
+  private RecordWriter createRecordWriter(MedicineExportFormat format, OutputStream outputStream) throws IOException {
+    switch (format) {
+      case CSV:
+        return new CsvRecordWriter(outputStream);
+      case ARROW:
+        return new ArrowRecordWriter(outputStream);
+      default:
+        return new NdjsonRecordWriter(medicineWriter.writeValues(outputStream));
+    }
+  }
+
+  private interface RecordWriter extends AutoCloseable {
+    void write(MedicineCreationDto medicine) throws IOException;
+
+    @Override
+    void close() throws IOException;
+  }
+
+  private static class NdjsonRecordWriter implements RecordWriter {
+    private final SequenceWriter sequenceWriter;
+
+    private NdjsonRecordWriter(SequenceWriter sequenceWriter) {
+      this.sequenceWriter = sequenceWriter;
+    }
+
+    @Override
+    public void write(MedicineCreationDto medicine) throws IOException {
+      sequenceWriter.write(medicine);
+    }
+
+    @Override
+    public void close() throws IOException {
+      sequenceWriter.close();
+    }
+  }
+
+  private static class CsvRecordWriter implements RecordWriter {
+    private final Writer writer;
+
+    private CsvRecordWriter(OutputStream outputStream) throws IOException {
+      this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+      this.writer.write(CSV_HEADER);
+      this.writer.write('\n');
+    }
+
+    @Override
+    public void write(MedicineCreationDto medicine) throws IOException {
+      writer.write(String.join(",",
+          escape(medicine.getRegistrationNumber()),
+          escape(medicine.getName()),
+          medicine.getExpirationDate().format(DATE_FORMATTER),
+          escape(medicine.getCustomerServicePhone()),
+          medicine.getPrice().toPlainString(),
+          medicine.getAmountOfPills().toString(),
+          medicine.getManufacturerId().toString(),
+          medicine.getAdverseReactionIds().stream()
+              .map(String::valueOf)
+              .collect(Collectors.joining(";"))));
+      writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.flush();
+    }
+
+    private String escape(String value) {
+      if (value.chars().noneMatch(character -> character == ',' || character == '"'
+          || character == '\n' || character == '\r')) {
+        return value;
+      }
+
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+  }
+
+  private static class ArrowRecordWriter implements RecordWriter {
+    private final BufferAllocator allocator = new RootAllocator();
+    private final VectorSchemaRoot root = VectorSchemaRoot.create(ARROW_SCHEMA, allocator);
+    private final VarCharVector registrationNumbers = (VarCharVector) root.getVector("registrationNumber");
+    private final VarCharVector names = (VarCharVector) root.getVector("name");
+    private final DateDayVector expirationDates = (DateDayVector) root.getVector("expirationDate");
+    private final DecimalVector prices = (DecimalVector) root.getVector("price");
+    private final IntVector amountsOfPills = (IntVector) root.getVector("amountOfPills");
+    private final BigIntVector manufacturerIds = (BigIntVector) root.getVector("manufacturerId");
+    private final ListVector adverseReactionIds = (ListVector) root.getVector("adverseReactionIds");
+    private final ArrowStreamWriter streamWriter;
+    private UnionListWriter adverseReactionIdsWriter;
+    private int rowCount;
+
+    private ArrowRecordWriter(OutputStream outputStream) throws IOException {
+      this.streamWriter = new ArrowStreamWriter(root, null, Channels.newChannel(outputStream));
+      this.streamWriter.start();
+      startBatch();
+    }
+
+    @Override
+    public void write(MedicineCreationDto medicine) throws IOException {
+      registrationNumbers.setSafe(rowCount, medicine.getRegistrationNumber().getBytes(StandardCharsets.UTF_8));
+      names.setSafe(rowCount, medicine.getName().getBytes(StandardCharsets.UTF_8));
+      expirationDates.setSafe(rowCount, (int) medicine.getExpirationDate().toEpochDay());
+      prices.setSafe(rowCount, medicine.getPrice().setScale(PRICE_SCALE, RoundingMode.HALF_UP));
+      amountsOfPills.setSafe(rowCount, medicine.getAmountOfPills());
+      manufacturerIds.setSafe(rowCount, medicine.getManufacturerId());
+
+      adverseReactionIdsWriter.setPosition(rowCount);
+      adverseReactionIdsWriter.startList();
+      medicine.getAdverseReactionIds().forEach(adverseReactionIdsWriter::writeBigInt);
+      adverseReactionIdsWriter.endList();
+
+      rowCount++;
+      if (rowCount == ARROW_BATCH_SIZE) {
+        writeBatch();
+        startBatch();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (rowCount > 0) {
+          writeBatch();
+        }
+        streamWriter.end();
+      } finally {
+        streamWriter.close();
+        root.close();
+        allocator.close();
+      }
+    }
+
+    private void startBatch() {
+      root.allocateNew();
+      adverseReactionIdsWriter = adverseReactionIds.getWriter();
+      rowCount = 0;
+    }
+
+    private void writeBatch() throws IOException {
+      root.setRowCount(rowCount);
+      streamWriter.writeBatch();
+    }
+  }
+
+  private static class MedicineRecordExtractor implements ResultSetExtractor<Void> {
+    private final RecordWriter recordWriter;
+
+    private MedicineRecordExtractor(RecordWriter recordWriter) {
+      this.recordWriter = recordWriter;
+    }
+
+    @Override
+    public Void extractData(ResultSet resultSet) throws SQLException {
+      MedicineCreationDto current = null;
+
+      while (resultSet.next()) {
+        String registrationNumber = resultSet.getString("registration_number");
+
+        if (current == null || !current.getRegistrationNumber().equals(registrationNumber)) {
+          write(current);
+          current = new MedicineCreationDto(
+              registrationNumber,
+              resultSet.getString("name"),
+              resultSet.getObject("expiration_date", LocalDate.class),
+              resultSet.getString("customer_service_phone"),
+              resultSet.getBigDecimal("price"),
+              resultSet.getInt("amount_of_pills"),
+              resultSet.getLong("manufacturer_id"),
+              new LinkedHashSet<>());
+        }
+
+        long adverseReactionId = resultSet.getLong("adverse_reaction_id");
+        if (!resultSet.wasNull()) {
+          current.getAdverseReactionIds().add(adverseReactionId);
+        }
+      }
+
+      write(current);
+      return null;
+    }
+
+    private void write(MedicineCreationDto medicine) {
+      if (medicine == null) {
+        return;
+      }
+
+      try {
+        recordWriter.write(medicine);
+      } catch (IOException exception) {
+        throw new UncheckedIOException(exception);
+      }
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineImportError {
+  private long row;
+  private String registrationNumber;
+  private String message;
+}
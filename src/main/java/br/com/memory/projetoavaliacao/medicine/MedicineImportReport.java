@@ -0,0 +1,15 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineImportReport {
+  private long imported;
+  private List<MedicineImportError> errors;
+}
@@ -0,0 +1,251 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.validation.Validator;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.shared.persistence.DataIntegrityViolations;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Service
+public class MedicineImporter {
+  private static final int MAX_CHUNK_SIZE = 5000;
+
+  private final ObjectReader medicineReader;
+  private final Validator validator;
+  private final MedicineRepository medicineRepository;
+  private final ManufacturerCache manufacturerCache;
+  private final AdverseReactionCache adverseReactionCache;
+  private final TransactionOperations transactionOperations;
+
+  public MedicineImporter(
+      ObjectMapper objectMapper,
+      Validator validator,
+      MedicineRepository medicineRepository,
+      ManufacturerCache manufacturerCache,
+      AdverseReactionCache adverseReactionCache,
+      TransactionOperations transactionOperations) {
+    this.medicineReader = objectMapper.readerFor(MedicineCreationDto.class);
+    this.validator = validator;
+    this.medicineRepository = medicineRepository;
+    this.manufacturerCache = manufacturerCache;
+    this.adverseReactionCache = adverseReactionCache;
+    this.transactionOperations = transactionOperations;
+  }
+
+  public MedicineImportReport importAll(InputStream inputStream, int chunkSize) throws IOException {
+    int size = Math.max(1, Math.min(chunkSize, MAX_CHUNK_SIZE));
+    List<MedicineImportError> errors = new ArrayList<>();
+    List<ImportRow> chunk = new ArrayList<>(size);
+    long imported = 0;
+    long row = 0;
+
+    try (MappingIterator<MedicineCreationDto> medicines = medicineReader.readValues(inputStream)) {
+      while (true) {
+        try {
+          if (!medicines.hasNextValue()) {
+            break;
+          }
+          MedicineCreationDto medicine = medicines.nextValue();
+
+          if (medicine == null) {
+            errors.add(new MedicineImportError(row, null, MedicineRows.NOT_AN_OBJECT_MESSAGE));
+          } else {
+            chunk.add(new ImportRow(row, medicine));
+          }
+        } catch (JsonParseException exception) {
+          errors.add(new MedicineImportError(row, null, MedicineRows.MALFORMED_ROW_MESSAGE));
+          break;
+        } catch (JsonMappingException exception) {
+          if (MedicineRows.isMalformed(exception)) {
+            errors.add(new MedicineImportError(row, null, MedicineRows.MALFORMED_ROW_MESSAGE));
+            break;
+          }
+          errors.add(new MedicineImportError(row, null, MedicineRows.getMessage(exception)));
+        }
+        row++;
+
+        if (chunk.size() == size) {
+          imported += importChunk(chunk, errors);
+          chunk.clear();
+        }
+      }
+    }
+
+    if (!chunk.isEmpty()) {
+      imported += importChunk(chunk, errors);
+    }
+
+    errors.sort(Comparator.comparingLong(MedicineImportError::getRow));
+    return new MedicineImportReport(imported, errors);
+  }
+
+  private long importChunk(List<ImportRow> chunk, List<MedicineImportError> errors) {
+    List<ImportRow> validRows = validate(chunk, errors);
+    List<ImportRow> newRows = removeExistingRegistrationNumbers(validRows, errors);
+    List<ResolvedRow> resolvedRows = resolveReferences(newRows, errors);
+
+    if (resolvedRows.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      transactionOperations.executeWithoutResult(status -> medicineRepository.insertAll(resolvedRows.stream()
+          .map(ResolvedRow::toMedicine)
+          .collect(Collectors.toList())));
+      return resolvedRows.size();
+    } catch (DataIntegrityViolationException exception) {
+      return importOneByOne(resolvedRows, errors);
+    }
+  }
+
+  private List<ImportRow> validate(List<ImportRow> chunk, List<MedicineImportError> errors) {
+    List<Optional<String>> violations = chunk.parallelStream()
+        .map(row -> MedicineRows.findViolation(validator, row.getMedicine()))
+        .collect(Collectors.toList());
+
+    List<ImportRow> validRows = new ArrayList<>(chunk.size());
+    for (int i = 0; i < chunk.size(); i++) {
+      ImportRow row = chunk.get(i);
+      Optional<String> violation = violations.get(i);
+
+      if (violation.isPresent()) {
+        errors.add(row.toError(violation.get()));
+      } else {
+        validRows.add(row);
+      }
+    }
+    return validRows;
+  }
+
+  private List<ImportRow> removeExistingRegistrationNumbers(List<ImportRow> rows, List<MedicineImportError> errors) {
+    if (rows.isEmpty()) {
+      return rows;
+    }
+
+    Set<String> existingRegistrationNumbers = medicineRepository.findRegistrationNumbersIn(rows.stream()
+        .map(row -> row.getMedicine().getRegistrationNumber())
+        .collect(Collectors.toSet()));
+    Set<String> seenRegistrationNumbers = new HashSet<>(existingRegistrationNumbers);
+
+    List<ImportRow> newRows = new ArrayList<>(rows.size());
+    for (ImportRow row : rows) {
+      String registrationNumber = row.getMedicine().getRegistrationNumber();
+
+      if (seenRegistrationNumbers.add(registrationNumber)) {
+        newRows.add(row);
+      } else {
+        errors.add(row.toError(MedicineRows.alreadyExists(registrationNumber)));
+      }
+    }
+    return newRows;
+  }
+
+  private List<ResolvedRow> resolveReferences(List<ImportRow> rows, List<MedicineImportError> errors) {
+    Map<Long, Optional<Manufacturer>> manufacturers = new HashMap<>();
+    Set<Long> adverseReactionIds = new HashSet<>();
+
+    for (ImportRow row : rows) {
+      manufacturers.computeIfAbsent(row.getMedicine().getManufacturerId(), manufacturerCache::findById);
+      adverseReactionIds.addAll(row.getMedicine().getAdverseReactionIds());
+    }
+
+    Map<Long, AdverseReaction> adverseReactions = adverseReactionCache.findAllById(adverseReactionIds).stream()
+        .collect(Collectors.toMap(AdverseReaction::getId, Function.identity()));
+
+    List<ResolvedRow> resolvedRows = new ArrayList<>(rows.size());
+    for (ImportRow row : rows) {
+      MedicineCreationDto medicine = row.getMedicine();
+      Optional<Manufacturer> manufacturer = manufacturers.get(medicine.getManufacturerId());
+      Set<AdverseReaction> medicineAdverseReactions = medicine.getAdverseReactionIds().stream()
+          .map(adverseReactions::get)
+          .filter(adverseReaction -> adverseReaction != null)
+          .collect(Collectors.toSet());
+
+      int numberOfAdverseReactionsNotFound = medicine.getAdverseReactionIds().size() - medicineAdverseReactions.size();
+      if (manufacturer.isEmpty()) {
+        errors.add(row.toError(String.format("Manufacturer with id %s not found", medicine.getManufacturerId())));
+      } else if (numberOfAdverseReactionsNotFound > 0) {
+        errors.add(row.toError(numberOfAdverseReactionsNotFound + " adverse reactions were not found"));
+      } else {
+        resolvedRows.add(new ResolvedRow(row, manufacturer.get(), medicineAdverseReactions));
+      }
+    }
+    return resolvedRows;
+  }
+
+  private long importOneByOne(List<ResolvedRow> rows, List<MedicineImportError> errors) {
+    long imported = 0;
+
+    for (ResolvedRow row : rows) {
+      try {
+        transactionOperations.executeWithoutResult(status -> medicineRepository.insert(row.toMedicine()));
+        imported++;
+      } catch (DataIntegrityViolationException exception) {
+        String registrationNumber = row.getRow().getMedicine().getRegistrationNumber();
+        errors.add(row.getRow().toError(DataIntegrityViolations.isUniqueViolation(exception)
+            ? MedicineRows.alreadyExists(registrationNumber)
+            : "The medicine could not be imported"));
+      }
+    }
+    return imported;
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class ImportRow {
+    private final long row;
+    private final MedicineCreationDto medicine;
+
+    private MedicineImportError toError(String message) {
+      return new MedicineImportError(row, medicine.getRegistrationNumber(), message);
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  private static class ResolvedRow {
+    private final ImportRow row;
+    private final Manufacturer manufacturer;
+    private final Set<AdverseReaction> adverseReactions;
+
+    private Medicine toMedicine() {
+      MedicineCreationDto medicine = row.getMedicine();
+      return new Medicine(
+          medicine.getRegistrationNumber(),
+          medicine.getName(),
+          medicine.getExpirationDate(),
+          medicine.getCustomerServicePhone(),
+          medicine.getPrice(),
+          medicine.getAmountOfPills(),
+          manufacturer,
+          new HashSet<>(adverseReactions));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.EqualsAndHashCode;
+
+@EqualsAndHashCode
+@Schema(implementation = MedicineView.class)
+@JsonSerialize(using = MedicineJsonSerializer.class)
+public class MedicineJson {
+  private final SerializedString json;
+
+  public MedicineJson(String json) {
+    this.json = new SerializedString(json);
+  }
+
+  SerializableString getJson() {
+    return json;
+  }
+}
@@ -0,0 +1,18 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+public class MedicineJsonSerializer extends StdSerializer<MedicineJson> {
+  public MedicineJsonSerializer() {
+    super(MedicineJson.class);
+  }
+
+  @Override
+  public void serialize(MedicineJson value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+    gen.writeRawValue(value.getJson());
+  }
+}
@@ -0,0 +1,22 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.List;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicineLookupDto {
+  @NotEmpty(message = "The registrationNumbers field must not be null nor empty")
+  @Size(max = 500, message = "The registrationNumbers field must not have more than 500 registration numbers")
+  private List<@NotBlank(message = "The registrationNumbers field must not contain blank registration numbers") String> registrationNumbers;
+}
@@ -0,0 +1,15 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineLookupResult {
+  private List<MedicineJson> medicines;
+  private List<String> missingRegistrationNumbers;
+}
@@ -0,0 +1,15 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import org.springframework.data.domain.Sort;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public enum MedicineOrder {
+  REGISTRATION_NUMBER(Sort.by("registrationNumber")),
+  NAME(Sort.by("name", "registrationNumber"));
+
+  private final Sort sort;
+}
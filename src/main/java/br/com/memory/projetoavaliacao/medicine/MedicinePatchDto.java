@@ -0,0 +1,56 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import javax.validation.GroupSequence;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.Nulls;
+
+import br.com.memory.projetoavaliacao.shared.validation.Extended;
+import br.com.memory.projetoavaliacao.shared.validation.PhoneNumber;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+@GroupSequence({ MedicinePatchDto.class, Extended.class })
+public class MedicinePatchDto {
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Pattern(regexp = "(?s).*\\S.*", message = "The name field must not be blank")
+  private String name;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  private LocalDate expirationDate;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Pattern(regexp = "(?s).*\\S.*", message = "The customerServicePhone field must not be blank")
+  @PhoneNumber(message = "The customerServicePhone field has an invalid phone number format", groups = Extended.class)
+  private String customerServicePhone;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  @PositiveOrZero(message = "The price field must not be negative")
+  private BigDecimal price;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  @PositiveOrZero(message = "The amountOfPills field must not be negative")
+  @Max(value = 32767, message = "The amountOfPills field must not be greater than 32767")
+  private Integer amountOfPills;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  private Long manufacturerId;
+
+  @JsonSetter(nulls = Nulls.FAIL)
+  @Size(min = 1, message = "The adverseReactionIds field must not be empty")
+  private Set<Long> adverseReactionIds;
+}
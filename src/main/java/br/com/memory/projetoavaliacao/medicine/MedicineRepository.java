@@ -1,15 +1,51 @@
 package br.com.memory.projetoavaliacao.medicine;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface MedicineRepository extends JpaRepository<Medicine, String> {
+public interface MedicineRepository extends
+    JpaRepository<Medicine, String>,
+    JpaSpecificationExecutor<Medicine>,
+    MedicineRepositoryCustom {
   public boolean existsByAdverseReactionsId(Long adverseReactionId);
 
-  @Query("FROM Medicine m WHERE (:registrationNumber IS NULL OR m.registrationNumber LIKE %:registrationNumber%) AND (:name IS NULL OR LOWER(m.name) LIKE CONCAT('%', LOWER(:name), '%'))")
-  public Page<Medicine> findAllBy(String registrationNumber, String name, Pageable pageable);
+  @Query("SELECT m.registrationNumber FROM Medicine m WHERE m.registrationNumber IN :registrationNumbers")
+  public Set<String> findRegistrationNumbersIn(@Param("registrationNumbers") Collection<String> registrationNumbers);
+
+  @Query("SELECT m FROM Medicine m JOIN FETCH m.manufacturer WHERE m.registrationNumber IN :registrationNumbers")
+  public List<Medicine> findAllIn(@Param("registrationNumbers") Collection<String> registrationNumbers);
+
+  @Query("SELECT m.amountOfPills FROM Medicine m WHERE m.registrationNumber = :registrationNumber")
+  public Optional<Integer> findAmountOfPills(@Param("registrationNumber") String registrationNumber);
+
+  public default Page<MedicineView> findAllBy(String registrationNumber, String name, Pageable pageable) {
+    return findViews(MedicineSpecifications.matching(registrationNumber, name), pageable);
+  }
+
+  public default Slice<MedicineView> findSliceBy(String registrationNumber, String name, Pageable pageable) {
+    return findViewSlice(MedicineSpecifications.matching(registrationNumber, name), pageable);
+  }
+
+  public default Slice<MedicineView> findSliceAfter(
+      String registrationNumber,
+      String name,
+      MedicineCursor cursor,
+      int size) {
+    return findViewSlice(
+        MedicineSpecifications.matching(registrationNumber, name).and(MedicineSpecifications.after(cursor)),
+        PageRequest.of(0, size, cursor.getOrder().getSort()));
+  }
 }
@@ -0,0 +1,30 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+
+public interface MedicineRepositoryCustom {
+  public Page<MedicineView> findViews(@Nullable Specification<Medicine> spec, Pageable pageable);
+
+  public Slice<MedicineView> findViewSlice(@Nullable Specification<Medicine> spec, Pageable pageable);
+
+  public Medicine insert(Medicine medicine);
+
+  public void insertAll(List<Medicine> medicines);
+
+  public int adjustAmountOfPills(String registrationNumber, int delta);
+
+  public int repriceAllByManufacturerId(Long manufacturerId, BigDecimal percentage);
+
+  public int updateAllByManufacturerId(
+      Long manufacturerId,
+      @Nullable LocalDate expirationDate,
+      @Nullable String customerServicePhone);
+}
@@ -0,0 +1,151 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionView;
+import br.com.memory.projetoavaliacao.shared.persistence.ProjectionSpecificationSupport;
+
+public class MedicineRepositoryImpl extends ProjectionSpecificationSupport<Medicine>
+    implements MedicineRepositoryCustom {
+  private static final String[] VIEW_ATTRIBUTE_PATHS = {
+    "registrationNumber",
+    "name",
+    "expirationDate",
+    "customerServicePhone",
+    "price",
+    "amountOfPills",
+    "manufacturer.id",
+    "manufacturer.name"
+  };
+
+  private static final String ADJUST_AMOUNT_OF_PILLS_SQL = "UPDATE medicine SET "
+      + "amount_of_pills = CAST(amount_of_pills AS INTEGER) + :delta, content_hash = NULL "
+      + "WHERE registration_number = :registrationNumber "
+      + "AND CAST(amount_of_pills AS INTEGER) + :delta BETWEEN 0 AND 32767";
+
+  private static final String REPRICE_ALL_BY_MANUFACTURER_ID_SQL = "UPDATE medicine SET "
+      + "price = ROUND(price * (100 + CAST(:percentage AS NUMERIC(10, 4))) / 100, 2), content_hash = NULL "
+      + "WHERE manufacturer_id = :manufacturerId";
+
+  public MedicineRepositoryImpl(EntityManager entityManager) {
+    super(Medicine.class, entityManager);
+  }
+
+  @Override
+  public Page<MedicineView> findViews(Specification<Medicine> spec, Pageable pageable) {
+    Page<MedicineView> medicines = findPage(spec, pageable, MedicineView.class, VIEW_ATTRIBUTE_PATHS);
+    fetchAdverseReactions(medicines.getContent());
+    return medicines;
+  }
+
+  @Override
+  public Slice<MedicineView> findViewSlice(Specification<Medicine> spec, Pageable pageable) {
+    Slice<MedicineView> medicines = findSlice(spec, pageable, MedicineView.class, VIEW_ATTRIBUTE_PATHS);
+    fetchAdverseReactions(medicines.getContent());
+    return medicines;
+  }
+
+  @Override
+  public Medicine insert(Medicine medicine) {
+    EntityManager entityManager = getEntityManager();
+    entityManager.persist(medicine);
+    entityManager.flush();
+    return medicine;
+  }
+
+  @Override
+  public void insertAll(List<Medicine> medicines) {
+    EntityManager entityManager = getEntityManager();
+    medicines.forEach(entityManager::persist);
+    entityManager.flush();
+  }
+
+  @Override
+  public int adjustAmountOfPills(String registrationNumber, int delta) {
+    return createMedicineUpdate(ADJUST_AMOUNT_OF_PILLS_SQL)
+        .setParameter("registrationNumber", registrationNumber)
+        .setParameter("delta", delta)
+        .executeUpdate();
+  }
+
+  @Override
+  public int repriceAllByManufacturerId(Long manufacturerId, BigDecimal percentage) {
+    return createMedicineUpdate(REPRICE_ALL_BY_MANUFACTURER_ID_SQL)
+        .setParameter("manufacturerId", manufacturerId)
+        .setParameter("percentage", percentage)
+        .executeUpdate();
+  }
+
+  @Override
+  public int updateAllByManufacturerId(Long manufacturerId, LocalDate expirationDate, String customerServicePhone) {
+    List<String> assignments = new ArrayList<>();
+
+    if (expirationDate != null) {
+      assignments.add("expiration_date = :expirationDate");
+    }
+    if (customerServicePhone != null) {
+      assignments.add("customer_service_phone = :customerServicePhone");
+    }
+    assignments.add("content_hash = NULL");
+
+    Query query = createMedicineUpdate(
+        "UPDATE medicine SET " + String.join(", ", assignments) + " WHERE manufacturer_id = :manufacturerId");
+    query.setParameter("manufacturerId", manufacturerId);
+
+    if (expirationDate != null) {
+      query.setParameter("expirationDate", expirationDate);
+    }
+    if (customerServicePhone != null) {
+      query.setParameter("customerServicePhone", customerServicePhone);
+    }
+
+    return query.executeUpdate();
+  }
+
+  private Query createMedicineUpdate(String sql) {
+    Query query = getEntityManager().createNativeQuery(sql);
+    query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Medicine.class);
+    return query;
+  }
+
+  private void fetchAdverseReactions(List<MedicineView> medicines) {
+    if (medicines.isEmpty()) {
+      return;
+    }
+
+    Map<String, MedicineView> medicinesByRegistrationNumber = medicines.stream()
+        .collect(Collectors.toMap(MedicineView::getRegistrationNumber, Function.identity()));
+
+    List<Tuple> adverseReactions = getEntityManager()
+        .createQuery(
+            "SELECT m.registrationNumber AS registrationNumber, ar.id AS id, ar.description AS description "
+                + "FROM Medicine m JOIN m.adverseReactions ar "
+                + "WHERE m.registrationNumber IN :registrationNumbers ORDER BY ar.id",
+            Tuple.class)
+        .setParameter("registrationNumbers", medicinesByRegistrationNumber.keySet())
+        .getResultList();
+
+    adverseReactions.forEach(adverseReaction -> medicinesByRegistrationNumber
+        .get(adverseReaction.get("registrationNumber", String.class))
+        .getAdverseReactions()
+        .add(new AdverseReactionView(
+            adverseReaction.get("id", Long.class),
+            adverseReaction.get("description", String.class))));
+  }
+}
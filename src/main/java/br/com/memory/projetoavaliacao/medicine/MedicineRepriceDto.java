@@ -0,0 +1,23 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.math.BigDecimal;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicineRepriceDto {
+  @NotNull(message = "The percentage field must not be null")
+  @DecimalMin(value = "-100", message = "The percentage field must not be less than -100")
+  @DecimalMax(value = "1000", message = "The percentage field must not be greater than 1000")
+  private BigDecimal percentage;
+}
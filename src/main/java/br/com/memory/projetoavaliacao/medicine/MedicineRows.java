@@ -0,0 +1,46 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.Comparator;
+import java.util.Optional;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import br.com.memory.projetoavaliacao.shared.exception.InvalidDateFormatException;
+
+final class MedicineRows {
+  static final String MALFORMED_ROW_MESSAGE = "The row is not valid JSON";
+  static final String NOT_AN_OBJECT_MESSAGE = "The row must be a medicine object";
+
+  private MedicineRows() {
+  }
+
+  static boolean isMalformed(JsonMappingException exception) {
+    return exception.getCause() instanceof JsonParseException;
+  }
+
+  static String getMessage(JsonMappingException exception) {
+    if (exception.getCause() instanceof InvalidDateFormatException) {
+      return exception.getCause().getMessage();
+    }
+
+    if (exception.getPath().isEmpty()) {
+      return "One of the provided fields has an invalid type or format";
+    }
+
+    return String.format("The %s field has an invalid type or format", exception.getPath().get(0).getFieldName());
+  }
+
+  static Optional<String> findViolation(Validator validator, MedicineCreationDto medicine) {
+    return validator.validate(medicine).stream()
+        .min(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+        .map(ConstraintViolation::getMessage);
+  }
+
+  static String alreadyExists(String registrationNumber) {
+    return String.format("A medicine with registration number %s already exists", registrationNumber);
+  }
+}
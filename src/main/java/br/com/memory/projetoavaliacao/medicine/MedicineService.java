@@ -1,34 +1,107 @@
 package br.com.memory.projetoavaliacao.medicine;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
-import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
 import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
-import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
+import br.com.memory.projetoavaliacao.shared.exception.PriceOutOfRangeException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceAlreadyExistsException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+import br.com.memory.projetoavaliacao.shared.pagination.CursorPage;
+import br.com.memory.projetoavaliacao.shared.persistence.DataIntegrityViolations;
 import lombok.AllArgsConstructor;
 
 @AllArgsConstructor
 @Service
+@Transactional(readOnly = true)
 public class MedicineService {
+  private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
   private final MedicineRepository medicineRepository;
-  private final ManufacturerRepository manufacturerRepository;
-  private final AdverseReactionRepository adverseReactionRepository;
+  private final ManufacturerCache manufacturerCache;
+  private final AdverseReactionCache adverseReactionCache;
+  private final MedicineCache medicineCache;
+  private final MedicineStockBuffer medicineStockBuffer;
+
+  public Page<MedicineJson> findAllBy(String registrationNumber, String name, Pageable pageable) {
+    Function<MedicineView, MedicineJson> jsonEncoder = medicineCache.jsonEncoder();
+    return medicineRepository.findAllBy(registrationNumber, name, pageable).map(jsonEncoder);
+  }
+
+  public Slice<MedicineJson> findSliceBy(String registrationNumber, String name, Pageable pageable) {
+    Function<MedicineView, MedicineJson> jsonEncoder = medicineCache.jsonEncoder();
+    return medicineRepository.findSliceBy(registrationNumber, name, pageable).map(jsonEncoder);
+  }
 
-  public Page<Medicine> findAllBy(String registrationNumber, String name, Pageable pageable) {
-    return medicineRepository.findAllBy(registrationNumber, name, pageable);
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public CachedMedicine findByRegistrationNumber(String registrationNumber) {
+    return medicineCache.findByRegistrationNumber(registrationNumber)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            String.format("Medicine with registration number %s not found", registrationNumber)));
   }
 
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public MedicineLookupResult findAllByRegistrationNumber(List<String> registrationNumbers) {
+    Set<String> distinctRegistrationNumbers = new LinkedHashSet<>(registrationNumbers);
+    Map<String, CachedMedicine> cachedMedicines = medicineCache.findAllByRegistrationNumber(distinctRegistrationNumbers);
+    List<MedicineJson> medicines = new ArrayList<>(cachedMedicines.size());
+    List<String> missingRegistrationNumbers = new ArrayList<>();
+
+    for (String registrationNumber : distinctRegistrationNumbers) {
+      CachedMedicine cachedMedicine = cachedMedicines.get(registrationNumber);
+
+      if (cachedMedicine == null) {
+        missingRegistrationNumbers.add(registrationNumber);
+      } else {
+        medicines.add(cachedMedicine.getJson());
+      }
+    }
+
+    return new MedicineLookupResult(medicines, missingRegistrationNumbers);
+  }
+
+  public CursorPage<MedicineJson> findAllAfter(
+      String registrationNumber,
+      String name,
+      MedicineCursor cursor,
+      int size) {
+    int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    Function<MedicineView, MedicineJson> jsonEncoder = medicineCache.jsonEncoder();
+    Slice<MedicineView> medicines = medicineRepository.findSliceAfter(registrationNumber, name, cursor, pageSize);
+    List<MedicineJson> content = medicines.getContent().stream()
+        .map(jsonEncoder)
+        .collect(Collectors.toList());
+
+    if (!medicines.hasNext()) {
+      return new CursorPage<>(content, null);
+    }
+
+    MedicineView lastMedicine = medicines.getContent().get(pageSize - 1);
+    return new CursorPage<>(content, cursor.after(lastMedicine).encode());
+  }
+
+  @Transactional
   public Medicine create(MedicineCreationDto medicineCreationDto) {
-    ensureRegistrationNumberIsUnique(medicineCreationDto.getRegistrationNumber());
     Manufacturer manufacturer = findManufacturerById(medicineCreationDto.getManufacturerId());
     Set<AdverseReaction> adverseReactions = findAdverseReactionsByIds(medicineCreationDto.getAdverseReactionIds());
 
@@ -42,26 +115,26 @@ public class MedicineService {
         manufacturer,
         adverseReactions);
 
-    return medicineRepository.save(medicine);
-  }
+    try {
+      return medicineRepository.insert(medicine);
+    } catch (DataIntegrityViolationException exception) {
+      if (!DataIntegrityViolations.isUniqueViolation(exception)) {
+        throw exception;
+      }
 
-  private void ensureRegistrationNumberIsUnique(String registrationNumber) {
-    boolean registrationNumberExists = medicineRepository.existsById(registrationNumber);
-
-    if (registrationNumberExists) {
       throw new ResourceAlreadyExistsException(
-          String.format("A medicine with registration number %s already exists", registrationNumber));
+          String.format("A medicine with registration number %s already exists", medicine.getRegistrationNumber()));
     }
   }
 
   private Manufacturer findManufacturerById(Long manufacturerId) {
-    return manufacturerRepository.findById(manufacturerId)
+    return manufacturerCache.findById(manufacturerId)
         .orElseThrow(() -> new ResourceNotFoundException(
             String.format("Manufacturer with id %s not found", manufacturerId)));
   }
 
   private Set<AdverseReaction> findAdverseReactionsByIds(Set<Long> adverseReactionIds) {
-    List<AdverseReaction> adverseReactions = adverseReactionRepository.findAllById(adverseReactionIds);
+    List<AdverseReaction> adverseReactions = adverseReactionCache.findAllById(adverseReactionIds);
 
     int numberOfAdverseReactionsNotFound = adverseReactionIds.size() - adverseReactions.size();
     if (numberOfAdverseReactionsNotFound > 0) {
@@ -71,6 +144,7 @@ public class MedicineService {
     return new HashSet<>(adverseReactions);
   }
 
+  @Transactional
   public Medicine update(String registrationNumber, MedicineUpdateDto medicineUpdateDto) {
     Medicine medicine = findMedicineByRegistrationNumber(registrationNumber);
     Manufacturer manufacturer = findManufacturerById(medicineUpdateDto.getManufacturerId());
@@ -82,9 +156,128 @@ public class MedicineService {
     medicine.setPrice(medicineUpdateDto.getPrice());
     medicine.setAmountOfPills(medicineUpdateDto.getAmountOfPills());
     medicine.setManufacturer(manufacturer);
-    medicine.setAdverseReactions(adverseReactions);
+    replaceAdverseReactions(medicine, adverseReactions);
+    medicine.setContentHash(null);
+
+    Medicine updatedMedicine = medicineRepository.save(medicine);
+    medicineCache.invalidate(registrationNumber);
+    return updatedMedicine;
+  }
+
+  @Transactional
+  public Medicine patch(String registrationNumber, MedicinePatchDto medicinePatchDto) {
+    Medicine medicine = findMedicineByRegistrationNumber(registrationNumber);
+
+    if (medicinePatchDto.getName() != null) {
+      medicine.setName(medicinePatchDto.getName());
+    }
+    if (medicinePatchDto.getExpirationDate() != null) {
+      medicine.setExpirationDate(medicinePatchDto.getExpirationDate());
+    }
+    if (medicinePatchDto.getCustomerServicePhone() != null) {
+      medicine.setCustomerServicePhone(medicinePatchDto.getCustomerServicePhone());
+    }
+    if (medicinePatchDto.getPrice() != null) {
+      medicine.setPrice(medicinePatchDto.getPrice());
+    }
+    if (medicinePatchDto.getAmountOfPills() != null) {
+      medicine.setAmountOfPills(medicinePatchDto.getAmountOfPills());
+    }
+    if (medicinePatchDto.getManufacturerId() != null) {
+      medicine.setManufacturer(findManufacturerById(medicinePatchDto.getManufacturerId()));
+    }
+    if (medicinePatchDto.getAdverseReactionIds() != null) {
+      replaceAdverseReactions(medicine, findAdverseReactionsByIds(medicinePatchDto.getAdverseReactionIds()));
+    } else {
+      Hibernate.initialize(medicine.getAdverseReactions());
+    }
+    medicine.setContentHash(null);
+
+    Medicine patchedMedicine = medicineRepository.save(medicine);
+    medicineCache.invalidate(registrationNumber);
+    return patchedMedicine;
+  }
+
+  @Transactional
+  public MedicineStock adjustStock(String registrationNumber, int delta) {
+    int adjustedMedicines = medicineRepository.adjustAmountOfPills(registrationNumber, delta);
+    int amountOfPills = findAmountOfPills(registrationNumber);
+
+    if (adjustedMedicines == 0) {
+      throw new InsufficientStockException(String.format(
+          "Medicine with registration number %s has %s pills, which cannot absorb an adjustment of %s",
+          registrationNumber, amountOfPills, delta));
+    }
+
+    medicineCache.invalidate(registrationNumber);
+    return new MedicineStock(registrationNumber, amountOfPills);
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public MedicineStock deferStockAdjustment(String registrationNumber, int delta) {
+    int amountOfPills = medicineStockBuffer.add(registrationNumber, delta, () -> findAmountOfPills(registrationNumber));
+    return new MedicineStock(registrationNumber, amountOfPills);
+  }
+
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public MedicineStock findStock(String registrationNumber) {
+    medicineStockBuffer.flush(registrationNumber);
+    return new MedicineStock(registrationNumber, findAmountOfPills(registrationNumber));
+  }
+
+  @Transactional
+  public MedicineBulkUpdateResult repriceAllByManufacturerId(Long manufacturerId, BigDecimal percentage) {
+    findManufacturerById(manufacturerId);
+    int affectedMedicines;
+
+    try {
+      affectedMedicines = medicineRepository.repriceAllByManufacturerId(manufacturerId, percentage);
+    } catch (DataIntegrityViolationException exception) {
+      if (!DataIntegrityViolations.isNumericValueOutOfRange(exception)) {
+        throw exception;
+      }
+
+      throw new PriceOutOfRangeException(String.format(
+          "A reprice of %s%% would exceed the maximum price of a medicine of manufacturer with id %s",
+          percentage.toPlainString(), manufacturerId));
+    }
+
+    medicineCache.invalidateAll();
+    return new MedicineBulkUpdateResult(manufacturerId, affectedMedicines);
+  }
+
+  @Transactional
+  public MedicineBulkUpdateResult updateAllByManufacturerId(
+      Long manufacturerId,
+      MedicineBulkUpdateDto medicineBulkUpdateDto) {
+    findManufacturerById(manufacturerId);
+    int affectedMedicines = medicineRepository.updateAllByManufacturerId(
+        manufacturerId,
+        medicineBulkUpdateDto.getExpirationDate(),
+        medicineBulkUpdateDto.getCustomerServicePhone());
+
+    medicineCache.invalidateAll();
+    return new MedicineBulkUpdateResult(manufacturerId, affectedMedicines);
+  }
+
+  private int findAmountOfPills(String registrationNumber) {
+    return medicineRepository.findAmountOfPills(registrationNumber)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            String.format("Medicine with registration number %s not found", registrationNumber)));
+  }
+
+  private void replaceAdverseReactions(Medicine medicine, Set<AdverseReaction> adverseReactions) {
+    Set<Long> adverseReactionIds = adverseReactions.stream()
+        .map(AdverseReaction::getId)
+        .collect(Collectors.toSet());
+    medicine.getAdverseReactions().removeIf(adverseReaction -> !adverseReactionIds.contains(adverseReaction.getId()));
 
-    return medicineRepository.save(medicine);
+    Set<Long> linkedAdverseReactionIds = medicine.getAdverseReactions().stream()
+        .map(AdverseReaction::getId)
+        .collect(Collectors.toSet());
+    adverseReactions.stream()
+        .filter(adverseReaction -> !linkedAdverseReactionIds.contains(adverseReaction.getId()))
+        .forEach(medicine.getAdverseReactions()::add);
   }
 
   private Medicine findMedicineByRegistrationNumber(String registrationNumber) {
@@ -93,8 +286,10 @@ public class MedicineService {
             String.format("Medicine with registration number %s not found", registrationNumber)));
   }
 
+  @Transactional
   public void deleteByRegistrationNumber(String registrationNumber) {
     Medicine medicine = findMedicineByRegistrationNumber(registrationNumber);
     medicineRepository.delete(medicine);
+    medicineCache.invalidate(registrationNumber);
   }
 }
@@ -0,0 +1,54 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+public final class MedicineSpecifications {
+  private MedicineSpecifications() {
+  }
+
+  public static Specification<Medicine> matching(String registrationNumber, String name) {
+    return Specification.where(registrationNumberContains(registrationNumber))
+        .and(nameContains(name));
+  }
+
+  public static Specification<Medicine> registrationNumberContains(String registrationNumber) {
+    if (registrationNumber == null) {
+      return null;
+    }
+    return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+        root.<String>get("registrationNumber"),
+        "%" + registrationNumber + "%");
+  }
+
+  public static Specification<Medicine> nameContains(String name) {
+    if (name == null) {
+      return null;
+    }
+    return (root, query, criteriaBuilder) -> criteriaBuilder.like(
+        criteriaBuilder.lower(root.<String>get("name")),
+        "%" + name.toLowerCase(Locale.ROOT) + "%");
+  }
+
+  public static Specification<Medicine> after(MedicineCursor cursor) {
+    if (cursor.getOrder() == MedicineOrder.NAME) {
+      return nameAndRegistrationNumberAfter(cursor.getName(), cursor.getRegistrationNumber());
+    }
+    return registrationNumberAfter(cursor.getRegistrationNumber());
+  }
+
+  private static Specification<Medicine> registrationNumberAfter(String registrationNumber) {
+    return (root, query, criteriaBuilder) -> criteriaBuilder.greaterThan(
+        root.<String>get("registrationNumber"),
+        registrationNumber);
+  }
+
+  private static Specification<Medicine> nameAndRegistrationNumberAfter(String name, String registrationNumber) {
+    return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+        criteriaBuilder.greaterThanOrEqualTo(root.<String>get("name"), name),
+        criteriaBuilder.or(
+            criteriaBuilder.greaterThan(root.<String>get("name"), name),
+            criteriaBuilder.greaterThan(root.<String>get("registrationNumber"), registrationNumber)));
+  }
+}
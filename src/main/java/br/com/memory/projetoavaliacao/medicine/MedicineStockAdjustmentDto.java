@@ -0,0 +1,21 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class MedicineStockAdjustmentDto {
+  @NotNull(message = "The delta field must not be null")
+  @Min(value = -32767, message = "The delta field must not be less than -32767")
+  @Max(value = 32767, message = "The delta field must not be greater than 32767")
+  private Integer delta;
+}
@@ -0,0 +1,356 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntSupplier;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Component
+public class MedicineStockBuffer implements MeterBinder {
+  private static final Duration FLUSH_INTERVAL = Duration.ofMillis(200);
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+  private static final int BATCH_SIZE = 50;
+  private static final int MAX_AMOUNT_OF_PILLS = 32767;
+  private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+  private static final String ADJUST_AMOUNT_OF_PILLS_SQL = "UPDATE medicine SET "
+      + "amount_of_pills = CAST(amount_of_pills AS INTEGER) + ?, content_hash = NULL "
+      + "WHERE registration_number = ? "
+      + "AND CAST(amount_of_pills AS INTEGER) + ? BETWEEN 0 AND " + MAX_AMOUNT_OF_PILLS;
+
+  private static final String FIND_AMOUNTS_OF_PILLS_SQL = "SELECT registration_number, amount_of_pills "
+      + "FROM medicine WHERE registration_number IN ";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final MedicineCache medicineCache;
+  private final ConcurrentMap<String, PendingDelta> pendingDeltas = new ConcurrentHashMap<>();
+  private final AtomicLong flushedDeltas = new AtomicLong();
+  private final AtomicLong droppedDeltas = new AtomicLong();
+  private final AtomicLong failedFlushes = new AtomicLong();
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+
+  public MedicineStockBuffer(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MedicineCache medicineCache) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.medicineCache = medicineCache;
+    this.executor.scheduleWithFixedDelay(
+        this::flushOnSchedule,
+        FLUSH_INTERVAL.toMillis(),
+        FLUSH_INTERVAL.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  public int add(String registrationNumber, int delta, IntSupplier amountOfPills) {
+    while (true) {
+      PendingDelta pendingDelta = findOrLoad(registrationNumber, amountOfPills);
+      State state = pendingDelta.get();
+
+      if (state == State.RETIRED) {
+        pendingDeltas.remove(registrationNumber, pendingDelta);
+        continue;
+      }
+
+      long bufferedAmountOfPills = state.amountOfPills + state.delta + delta;
+      long lowestAmountOfPills = bufferedAmountOfPills + Math.min(0, state.inFlightDelta);
+      long highestAmountOfPills = bufferedAmountOfPills + Math.max(0, state.inFlightDelta);
+
+      if (lowestAmountOfPills < 0 || highestAmountOfPills > MAX_AMOUNT_OF_PILLS) {
+        throw new InsufficientStockException(String.format(
+            "Medicine with registration number %s has %s pills, which cannot absorb an adjustment of %s",
+            registrationNumber, bufferedAmountOfPills - delta + state.inFlightDelta, delta));
+      }
+
+      if (pendingDelta.compareAndSet(state, state.withDelta(state.delta + delta))) {
+        return (int) (bufferedAmountOfPills + state.inFlightDelta);
+      }
+    }
+  }
+
+  public long findPendingDelta(String registrationNumber) {
+    PendingDelta pendingDelta = pendingDeltas.get(registrationNumber);
+    return pendingDelta == null ? 0 : pendingDelta.get().delta;
+  }
+
+  public synchronized void flush() {
+    List<Map.Entry<String, Long>> deltas = new ArrayList<>();
+    pendingDeltas.forEach((registrationNumber, pendingDelta) -> {
+      long delta = pendingDelta.takeDelta();
+      if (delta != 0) {
+        deltas.add(Map.entry(registrationNumber, delta));
+      } else if (pendingDelta.retireIfIdle()) {
+        pendingDeltas.remove(registrationNumber, pendingDelta);
+      }
+    });
+    write(deltas);
+  }
+
+  public synchronized void flush(String registrationNumber) {
+    PendingDelta pendingDelta = pendingDeltas.get(registrationNumber);
+    long delta = pendingDelta == null ? 0 : pendingDelta.takeDelta();
+
+    if (delta != 0) {
+      write(List.of(Map.entry(registrationNumber, delta)));
+    }
+  }
+
+  private PendingDelta findOrLoad(String registrationNumber, IntSupplier amountOfPills) {
+    PendingDelta pendingDelta = pendingDeltas.get(registrationNumber);
+
+    if (pendingDelta != null) {
+      return pendingDelta;
+    }
+
+    PendingDelta loadedPendingDelta = new PendingDelta(amountOfPills.getAsInt());
+    pendingDelta = pendingDeltas.putIfAbsent(registrationNumber, loadedPendingDelta);
+    return pendingDelta == null ? loadedPendingDelta : pendingDelta;
+  }
+
+  private void write(List<Map.Entry<String, Long>> deltas) {
+    if (deltas.isEmpty()) {
+      return;
+    }
+
+    Flush flush;
+    try {
+      flush = transactionTemplate.execute(status -> writeAndRefresh(deltas));
+    } catch (RuntimeException exception) {
+      if (isRecoverable(exception) || deltas.size() == 1) {
+        deltas.forEach(delta -> release(delta, exception));
+        throw exception;
+      }
+
+      deltas.forEach(this::writeRow);
+      return;
+    }
+
+    complete(deltas, flush);
+  }
+
+  private void writeRow(Map.Entry<String, Long> delta) {
+    Flush flush;
+    try {
+      flush = transactionTemplate.execute(status -> writeAndRefresh(List.of(delta)));
+    } catch (RuntimeException exception) {
+      release(delta, exception);
+      return;
+    }
+
+    complete(List.of(delta), flush);
+  }
+
+  private Flush writeAndRefresh(List<Map.Entry<String, Long>> deltas) {
+    int[][] updateCounts = jdbcTemplate.batchUpdate(ADJUST_AMOUNT_OF_PILLS_SQL, deltas, BATCH_SIZE, (statement, delta) -> {
+      statement.setLong(1, delta.getValue());
+      statement.setString(2, delta.getKey());
+      statement.setLong(3, delta.getValue());
+    });
+
+    Map<String, Integer> amountsOfPills = new HashMap<>();
+    for (int index = 0; index < deltas.size(); index += BATCH_SIZE) {
+      List<Map.Entry<String, Long>> batch = deltas.subList(index, Math.min(index + BATCH_SIZE, deltas.size()));
+      amountsOfPills.putAll(findAmountsOfPills(batch));
+    }
+
+    return new Flush(updateCounts, amountsOfPills);
+  }
+
+  private Map<String, Integer> findAmountsOfPills(List<Map.Entry<String, Long>> deltas) {
+    String placeholders = String.join(", ", Collections.nCopies(deltas.size(), "?"));
+    Map<String, Integer> amountsOfPills = jdbcTemplate.query(
+        FIND_AMOUNTS_OF_PILLS_SQL + "(" + placeholders + ")",
+        statement -> {
+          for (int index = 0; index < deltas.size(); index++) {
+            statement.setString(index + 1, deltas.get(index).getKey());
+          }
+        },
+        resultSet -> {
+          Map<String, Integer> amounts = new HashMap<>();
+          while (resultSet.next()) {
+            amounts.put(resultSet.getString(1), resultSet.getInt(2));
+          }
+          return amounts;
+        });
+    return amountsOfPills == null ? Map.of() : amountsOfPills;
+  }
+
+  private void complete(List<Map.Entry<String, Long>> deltas, Flush flush) {
+    int index = 0;
+    for (int[] batch : flush.updateCounts) {
+      for (int updateCount : batch) {
+        Map.Entry<String, Long> delta = deltas.get(index++);
+
+        if (updateCount == 0) {
+          droppedDeltas.incrementAndGet();
+        } else {
+          flushedDeltas.incrementAndGet();
+          medicineCache.invalidate(delta.getKey());
+        }
+
+        refresh(delta.getKey(), flush.amountsOfPills.get(delta.getKey()));
+      }
+    }
+  }
+
+  private void refresh(String registrationNumber, Integer amountOfPills) {
+    PendingDelta pendingDelta = pendingDeltas.get(registrationNumber);
+
+    if (amountOfPills != null) {
+      pendingDelta.complete(amountOfPills);
+      return;
+    }
+
+    long delta = pendingDelta.retire();
+    pendingDeltas.remove(registrationNumber, pendingDelta);
+
+    if (delta != 0) {
+      droppedDeltas.incrementAndGet();
+    }
+  }
+
+  private void release(Map.Entry<String, Long> delta, RuntimeException exception) {
+    PendingDelta pendingDelta = pendingDeltas.get(delta.getKey());
+
+    if (isRecoverable(exception) && pendingDelta.restore()) {
+      return;
+    }
+
+    droppedDeltas.incrementAndGet();
+    pendingDelta.drop();
+  }
+
+  private boolean isRecoverable(RuntimeException exception) {
+    return exception instanceof TransientDataAccessException
+        || exception instanceof RecoverableDataAccessException
+        || exception instanceof DataAccessResourceFailureException
+        || exception instanceof TransactionException;
+  }
+
+  private void flushOnSchedule() {
+    try {
+      flush();
+    } catch (RuntimeException exception) {
+      failedFlushes.incrementAndGet();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    executor.shutdown();
+    executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+    flush();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    Gauge.builder("medicines.stock.buffer.pending", pendingDeltas, deltas -> deltas.values().stream()
+        .filter(pendingDelta -> pendingDelta.get().delta != 0)
+        .count())
+        .register(registry);
+    FunctionCounter.builder("medicines.stock.buffer.flushed", flushedDeltas, AtomicLong::get)
+        .register(registry);
+    FunctionCounter.builder("medicines.stock.buffer.dropped", droppedDeltas, AtomicLong::get)
+        .register(registry);
+    FunctionCounter.builder("medicines.stock.buffer.failures", failedFlushes, AtomicLong::get)
+        .register(registry);
+  }
+
+  private static class Flush {
+    private final int[][] updateCounts;
+    private final Map<String, Integer> amountsOfPills;
+
+    private Flush(int[][] updateCounts, Map<String, Integer> amountsOfPills) {
+      this.updateCounts = updateCounts;
+      this.amountsOfPills = amountsOfPills;
+    }
+  }
+
+  private static class State {
+    private static final State RETIRED = new State(0, 0, 0, 0);
+
+    private final int amountOfPills;
+    private final long delta;
+    private final long inFlightDelta;
+    private final int failedAttempts;
+
+    private State(int amountOfPills, long delta, long inFlightDelta, int failedAttempts) {
+      this.amountOfPills = amountOfPills;
+      this.delta = delta;
+      this.inFlightDelta = inFlightDelta;
+      this.failedAttempts = failedAttempts;
+    }
+
+    private State withDelta(long delta) {
+      return new State(amountOfPills, delta, inFlightDelta, failedAttempts);
+    }
+  }
+
+  private static class PendingDelta extends AtomicReference<State> {
+    private PendingDelta(int amountOfPills) {
+      super(new State(amountOfPills, 0, 0, 0));
+    }
+
+    private long takeDelta() {
+      State state = updateAndGet(current -> current.delta == 0
+          ? current
+          : new State(current.amountOfPills, 0, current.delta, current.failedAttempts));
+      return state.inFlightDelta;
+    }
+
+    private void complete(int amountOfPills) {
+      updateAndGet(current -> new State(amountOfPills, current.delta, 0, 0));
+    }
+
+    private boolean restore() {
+      State state = updateAndGet(current -> current.failedAttempts + 1 < MAX_FLUSH_ATTEMPTS
+          ? new State(current.amountOfPills, current.delta + current.inFlightDelta, 0, current.failedAttempts + 1)
+          : current);
+      return state.inFlightDelta == 0;
+    }
+
+    private void drop() {
+      updateAndGet(current -> new State(current.amountOfPills, current.delta, 0, 0));
+    }
+
+    private boolean retireIfIdle() {
+      State state = get();
+      return state.delta == 0 && state.inFlightDelta == 0 && compareAndSet(state, State.RETIRED);
+    }
+
+    private long retire() {
+      return getAndSet(State.RETIRED).delta;
+    }
+  }
+}
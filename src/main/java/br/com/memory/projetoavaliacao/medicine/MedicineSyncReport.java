@@ -0,0 +1,20 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineSyncReport {
+  private long inserted;
+  private long updated;
+  private long deleted;
+  private long unchanged;
+  private Map<String, Long> elapsedMillis;
+  private List<MedicineImportError> errors;
+}
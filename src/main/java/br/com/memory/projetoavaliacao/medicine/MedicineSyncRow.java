@@ -0,0 +1,16 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class MedicineSyncRow {
+  private final long row;
+  private final MedicineCreationDto medicine;
+  private final String contentHash;
+
+  public String getRegistrationNumber() {
+    return medicine.getRegistrationNumber();
+  }
+}
@@ -0,0 +1,90 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class MedicineSyncWriter {
+  private static final int BATCH_SIZE = 50;
+
+  private static final String FIND_CONTENT_HASHES_SQL = "SELECT registration_number, content_hash FROM medicine";
+
+  private static final String INSERT_MEDICINE_SQL = "INSERT INTO medicine ("
+      + "name, expiration_date, customer_service_phone, price, amount_of_pills, manufacturer_id, content_hash, "
+      + "registration_number"
+      + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private static final String UPDATE_MEDICINE_SQL = "UPDATE medicine SET "
+      + "name = ?, expiration_date = ?, customer_service_phone = ?, price = ?, amount_of_pills = ?, "
+      + "manufacturer_id = ?, content_hash = ? "
+      + "WHERE registration_number = ?";
+
+  private static final String DELETE_MEDICINE_SQL = "DELETE FROM medicine WHERE registration_number = ?";
+
+  private static final String INSERT_ADVERSE_REACTION_SQL = "INSERT INTO medicine_adverse_reaction ("
+      + "medicine_registration_number, adverse_reaction_id"
+      + ") VALUES (?, ?)";
+
+  private static final String DELETE_ADVERSE_REACTIONS_SQL =
+      "DELETE FROM medicine_adverse_reaction WHERE medicine_registration_number = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public MedicineSyncWriter(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public Map<String, String> findContentHashes() {
+    Map<String, String> contentHashes = new HashMap<>();
+    jdbcTemplate.query(FIND_CONTENT_HASHES_SQL, resultSet -> {
+      contentHashes.put(resultSet.getString("registration_number"), resultSet.getString("content_hash"));
+    });
+    return contentHashes;
+  }
+
+  public void insertAll(List<MedicineSyncRow> medicines) {
+    writeMedicines(INSERT_MEDICINE_SQL, medicines);
+    insertAdverseReactions(medicines);
+  }
+
+  public void updateAll(List<MedicineSyncRow> medicines) {
+    writeMedicines(UPDATE_MEDICINE_SQL, medicines);
+    jdbcTemplate.batchUpdate(DELETE_ADVERSE_REACTIONS_SQL, medicines, BATCH_SIZE, (statement, medicine) ->
+        statement.setString(1, medicine.getRegistrationNumber()));
+    insertAdverseReactions(medicines);
+  }
+
+  public void deleteAll(Collection<String> registrationNumbers) {
+    jdbcTemplate.batchUpdate(DELETE_MEDICINE_SQL, registrationNumbers, BATCH_SIZE, (statement, registrationNumber) ->
+        statement.setString(1, registrationNumber));
+  }
+
+  private void writeMedicines(String sql, List<MedicineSyncRow> medicines) {
+    jdbcTemplate.batchUpdate(sql, medicines, BATCH_SIZE, (statement, row) -> {
+      MedicineCreationDto medicine = row.getMedicine();
+      statement.setString(1, medicine.getName());
+      statement.setObject(2, medicine.getExpirationDate());
+      statement.setString(3, medicine.getCustomerServicePhone());
+      statement.setBigDecimal(4, medicine.getPrice());
+      statement.setInt(5, medicine.getAmountOfPills());
+      statement.setLong(6, medicine.getManufacturerId());
+      statement.setString(7, row.getContentHash());
+      statement.setString(8, row.getRegistrationNumber());
+    });
+  }
+
+  private void insertAdverseReactions(List<MedicineSyncRow> medicines) {
+    List<Object[]> adverseReactions = medicines.stream()
+        .flatMap(medicine -> medicine.getMedicine().getAdverseReactionIds().stream()
+            .map(adverseReactionId -> new Object[] { medicine.getRegistrationNumber(), adverseReactionId }))
+        .collect(Collectors.toList());
+
+    jdbcTemplate.batchUpdate(INSERT_ADVERSE_REACTION_SQL, adverseReactions);
+  }
+}
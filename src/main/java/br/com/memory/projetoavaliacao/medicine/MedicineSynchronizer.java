@@ -0,0 +1,327 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.Validator;
+
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.shared.persistence.DataIntegrityViolations;
+
+@Service
+public class MedicineSynchronizer {
+  private static final int CHUNK_SIZE = 500;
+  private static final String LOAD_PHASE = "load";
+  private static final String DIFF_PHASE = "diff";
+  private static final String INSERT_PHASE = "insert";
+  private static final String UPDATE_PHASE = "update";
+  private static final String DELETE_PHASE = "delete";
+
+  private final ObjectReader medicineReader;
+  private final Validator validator;
+  private final MedicineSyncWriter medicineSyncWriter;
+  private final ManufacturerCache manufacturerCache;
+  private final AdverseReactionCache adverseReactionCache;
+  private final MedicineCache medicineCache;
+  private final TransactionOperations transactionOperations;
+  private final EntityManagerFactory entityManagerFactory;
+
+  public MedicineSynchronizer(
+      ObjectMapper objectMapper,
+      Validator validator,
+      MedicineSyncWriter medicineSyncWriter,
+      ManufacturerCache manufacturerCache,
+      AdverseReactionCache adverseReactionCache,
+      MedicineCache medicineCache,
+      TransactionOperations transactionOperations,
+      EntityManagerFactory entityManagerFactory) {
+    this.medicineReader = objectMapper.readerFor(MedicineCreationDto.class);
+    this.validator = validator;
+    this.medicineSyncWriter = medicineSyncWriter;
+    this.manufacturerCache = manufacturerCache;
+    this.adverseReactionCache = adverseReactionCache;
+    this.medicineCache = medicineCache;
+    this.transactionOperations = transactionOperations;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  public MedicineSyncReport sync(InputStream feed) throws IOException {
+    Run run = new Run();
+    Map<String, String> contentHashes = run.time(LOAD_PHASE, medicineSyncWriter::findContentHashes);
+    Set<String> seenRegistrationNumbers = new HashSet<>();
+    boolean complete = true;
+    long row = 0;
+
+    try (MappingIterator<MedicineCreationDto> medicines = medicineReader.readValues(feed)) {
+      while (true) {
+        try {
+          if (!medicines.hasNextValue()) {
+            break;
+          }
+          MedicineCreationDto medicine = medicines.nextValue();
+          long currentRow = row;
+          if (!run.time(DIFF_PHASE, () -> diff(currentRow, medicine, contentHashes, seenRegistrationNumbers, run))) {
+            complete = false;
+          }
+        } catch (JsonParseException exception) {
+          run.errors.add(new MedicineImportError(row, null, MedicineRows.MALFORMED_ROW_MESSAGE));
+          complete = false;
+          break;
+        } catch (JsonMappingException exception) {
+          if (MedicineRows.isMalformed(exception)) {
+            run.errors.add(new MedicineImportError(row, null, MedicineRows.MALFORMED_ROW_MESSAGE));
+            complete = false;
+            break;
+          }
+          run.errors.add(new MedicineImportError(row, null, MedicineRows.getMessage(exception)));
+          complete = false;
+        }
+        row++;
+
+        if (run.pendingInserts.size() + run.pendingUpdates.size() >= CHUNK_SIZE) {
+          apply(run);
+        }
+      }
+    }
+
+    apply(run);
+
+    if (complete && run.inserted + run.updated + run.unchanged > 0) {
+      List<String> removedRegistrationNumbers = contentHashes.keySet().stream()
+          .filter(registrationNumber -> !seenRegistrationNumbers.contains(registrationNumber))
+          .collect(Collectors.toList());
+      delete(removedRegistrationNumbers, run);
+    }
+
+    if (run.updated > 0 || run.deleted > 0) {
+      entityManagerFactory.unwrap(SessionFactory.class)
+          .getCache()
+          .evictCollectionData(Medicine.class.getName() + ".adverseReactions");
+      medicineCache.invalidateAll();
+    }
+
+    return run.toReport();
+  }
+
+  private boolean diff(
+      long row,
+      MedicineCreationDto medicine,
+      Map<String, String> contentHashes,
+      Set<String> seenRegistrationNumbers,
+      Run run) {
+    if (medicine == null) {
+      run.errors.add(new MedicineImportError(row, null, MedicineRows.NOT_AN_OBJECT_MESSAGE));
+      return false;
+    }
+
+    String registrationNumber = medicine.getRegistrationNumber();
+
+    if (registrationNumber == null || registrationNumber.isBlank()) {
+      run.errors.add(new MedicineImportError(row, registrationNumber, MedicineRows.findViolation(validator, medicine)
+          .orElseThrow()));
+      return false;
+    }
+
+    if (!seenRegistrationNumbers.add(registrationNumber)) {
+      run.errors.add(new MedicineImportError(row, registrationNumber, String.format(
+          "A medicine with registration number %s appears more than once in the feed", registrationNumber)));
+      return true;
+    }
+
+    Optional<String> violation = MedicineRows.findViolation(validator, medicine);
+
+    if (violation.isPresent()) {
+      run.errors.add(new MedicineImportError(row, registrationNumber, violation.get()));
+      return true;
+    }
+
+    String contentHash = MedicineContentHash.of(medicine);
+
+    if (!contentHashes.containsKey(registrationNumber)) {
+      run.pendingInserts.add(new MedicineSyncRow(row, medicine, contentHash));
+    } else if (!contentHash.equals(contentHashes.get(registrationNumber))) {
+      run.pendingUpdates.add(new MedicineSyncRow(row, medicine, contentHash));
+    } else {
+      run.unchanged++;
+    }
+    return true;
+  }
+
+  private void apply(Run run) {
+    List<MedicineSyncRow> inserts = run.time(DIFF_PHASE, () -> resolveReferences(run.pendingInserts, run));
+    List<MedicineSyncRow> updates = run.time(DIFF_PHASE, () -> resolveReferences(run.pendingUpdates, run));
+    run.pendingInserts.clear();
+    run.pendingUpdates.clear();
+
+    if (inserts.isEmpty() && updates.isEmpty()) {
+      return;
+    }
+
+    try {
+      transactionOperations.executeWithoutResult(status -> {
+        if (!inserts.isEmpty()) {
+          run.time(INSERT_PHASE, () -> {
+            medicineSyncWriter.insertAll(inserts);
+            return null;
+          });
+        }
+
+        if (!updates.isEmpty()) {
+          run.time(UPDATE_PHASE, () -> {
+            medicineSyncWriter.updateAll(updates);
+            return null;
+          });
+        }
+      });
+    } catch (DataIntegrityViolationException exception) {
+      run.inserted += applyOneByOne(inserts, INSERT_PHASE, medicineSyncWriter::insertAll, run);
+      run.updated += applyOneByOne(updates, UPDATE_PHASE, medicineSyncWriter::updateAll, run);
+      return;
+    }
+
+    run.inserted += inserts.size();
+    run.updated += updates.size();
+  }
+
+  private long applyOneByOne(
+      List<MedicineSyncRow> rows,
+      String phase,
+      Consumer<List<MedicineSyncRow>> writer,
+      Run run) {
+    long applied = 0;
+
+    for (MedicineSyncRow row : rows) {
+      try {
+        run.time(phase, () -> {
+          transactionOperations.executeWithoutResult(status -> writer.accept(List.of(row)));
+          return null;
+        });
+        applied++;
+      } catch (DataIntegrityViolationException exception) {
+        run.errors.add(new MedicineImportError(row.getRow(), row.getRegistrationNumber(),
+            INSERT_PHASE.equals(phase) && DataIntegrityViolations.isUniqueViolation(exception)
+                ? MedicineRows.alreadyExists(row.getRegistrationNumber())
+                : "The medicine could not be synchronized"));
+      }
+    }
+    return applied;
+  }
+
+  private List<MedicineSyncRow> resolveReferences(List<MedicineSyncRow> rows, Run run) {
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+
+    Map<Long, Optional<Manufacturer>> manufacturers = new HashMap<>();
+    Set<Long> adverseReactionIds = new HashSet<>();
+
+    for (MedicineSyncRow row : rows) {
+      manufacturers.computeIfAbsent(row.getMedicine().getManufacturerId(), manufacturerCache::findById);
+      adverseReactionIds.addAll(row.getMedicine().getAdverseReactionIds());
+    }
+
+    Set<Long> existingAdverseReactionIds = adverseReactionCache.findAllById(adverseReactionIds).stream()
+        .map(AdverseReaction::getId)
+        .collect(Collectors.toSet());
+
+    List<MedicineSyncRow> resolvedRows = new ArrayList<>(rows.size());
+    for (MedicineSyncRow row : rows) {
+      MedicineCreationDto medicine = row.getMedicine();
+      long numberOfAdverseReactionsNotFound = medicine.getAdverseReactionIds().stream()
+          .filter(adverseReactionId -> !existingAdverseReactionIds.contains(adverseReactionId))
+          .count();
+
+      if (manufacturers.get(medicine.getManufacturerId()).isEmpty()) {
+        run.errors.add(new MedicineImportError(row.getRow(), row.getRegistrationNumber(),
+            String.format("Manufacturer with id %s not found", medicine.getManufacturerId())));
+      } else if (numberOfAdverseReactionsNotFound > 0) {
+        run.errors.add(new MedicineImportError(row.getRow(), row.getRegistrationNumber(),
+            numberOfAdverseReactionsNotFound + " adverse reactions were not found"));
+      } else {
+        resolvedRows.add(row);
+      }
+    }
+    return resolvedRows;
+  }
+
+  private void delete(List<String> registrationNumbers, Run run) {
+    if (registrationNumbers.isEmpty()) {
+      return;
+    }
+
+    run.time(DELETE_PHASE, () -> {
+      for (int from = 0; from < registrationNumbers.size(); from += CHUNK_SIZE) {
+        List<String> chunk = registrationNumbers.subList(from, Math.min(from + CHUNK_SIZE, registrationNumbers.size()));
+        transactionOperations.executeWithoutResult(status -> medicineSyncWriter.deleteAll(chunk));
+        run.deleted += chunk.size();
+      }
+      return null;
+    });
+  }
+
+  private static class Run {
+    private final Map<String, Long> elapsedNanos = new LinkedHashMap<>();
+    private final List<MedicineImportError> errors = new ArrayList<>();
+    private final List<MedicineSyncRow> pendingInserts = new ArrayList<>();
+    private final List<MedicineSyncRow> pendingUpdates = new ArrayList<>();
+    private long inserted;
+    private long updated;
+    private long deleted;
+    private long unchanged;
+
+    private Run() {
+      List.of(LOAD_PHASE, DIFF_PHASE, INSERT_PHASE, UPDATE_PHASE, DELETE_PHASE)
+          .forEach(phase -> elapsedNanos.put(phase, 0L));
+    }
+
+    private <T> T time(String phase, Supplier<T> action) {
+      long start = System.nanoTime();
+
+      try {
+        return action.get();
+      } finally {
+        elapsedNanos.merge(phase, System.nanoTime() - start, Long::sum);
+      }
+    }
+
+    private MedicineSyncReport toReport() {
+      Map<String, Long> elapsedMillis = elapsedNanos.entrySet().stream()
+          .collect(Collectors.toMap(
+              Map.Entry::getKey,
+              entry -> TimeUnit.NANOSECONDS.toMillis(entry.getValue()),
+              (first, second) -> first,
+              LinkedHashMap::new));
+
+      errors.sort(Comparator.comparingLong(MedicineImportError::getRow));
+      return new MedicineSyncReport(inserted, updated, deleted, unchanged, elapsedMillis, errors);
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.time.LocalDate;
 import java.util.Set;
 
 import javax.validation.GroupSequence;
+import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
@@ -39,6 +40,7 @@ public class MedicineUpdateDto {
 
   @NotNull(message = "The amountOfPills field must not be null")
   @PositiveOrZero(message = "The amountOfPills field must not be negative")
+  @Max(value = 32767, message = "The amountOfPills field must not be greater than 32767")
   private Integer amountOfPills;
 
   @NotNull(message = "The manufacturerId field must not be null")
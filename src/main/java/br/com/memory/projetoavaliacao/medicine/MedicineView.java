@@ -0,0 +1,65 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionView;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerView;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class MedicineView {
+  private String registrationNumber;
+  private String name;
+  private LocalDate expirationDate;
+  private String customerServicePhone;
+  private BigDecimal price;
+  private Integer amountOfPills;
+  private ManufacturerView manufacturer;
+  private List<AdverseReactionView> adverseReactions;
+
+  public MedicineView(
+      String registrationNumber,
+      String name,
+      LocalDate expirationDate,
+      String customerServicePhone,
+      BigDecimal price,
+      Integer amountOfPills,
+      Long manufacturerId,
+      String manufacturerName) {
+    this(
+        registrationNumber,
+        name,
+        expirationDate,
+        customerServicePhone,
+        price,
+        amountOfPills,
+        new ManufacturerView(manufacturerId, manufacturerName),
+        new ArrayList<>());
+  }
+
+  public static MedicineView of(Medicine medicine) {
+    List<AdverseReactionView> adverseReactions = medicine.getAdverseReactions().stream()
+        .map(AdverseReactionView::of)
+        .sorted(Comparator.comparing(AdverseReactionView::getId))
+        .collect(Collectors.toList());
+
+    return new MedicineView(
+        medicine.getRegistrationNumber(),
+        medicine.getName(),
+        medicine.getExpirationDate(),
+        medicine.getCustomerServicePhone(),
+        medicine.getPrice(),
+        medicine.getAmountOfPills(),
+        ManufacturerView.of(medicine.getManufacturer()),
+        adverseReactions);
+  }
+}
@@ -1,5 +1,6 @@
 package br.com.memory.projetoavaliacao.shared.exception;
 
+import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -74,6 +75,17 @@ public class GlobalExceptionHandler {
     return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
   }
 
+  @Hidden
+  @ExceptionHandler({
+      InvalidCursorException.class,
+      PropertyReferenceException.class,
+      PriceOutOfRangeException.class
+  })
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleInvalidRequestException(RuntimeException exception) {
+    return new ErrorResponse(HttpStatus.BAD_REQUEST.value(), exception.getMessage());
+  }
+
   @Hidden
   @ExceptionHandler(ResourceNotFoundException.class)
   @ResponseStatus(HttpStatus.NOT_FOUND)
@@ -84,7 +96,8 @@ public class GlobalExceptionHandler {
   @Hidden
   @ExceptionHandler({
       ResourceAlreadyExistsException.class,
-      ResourceLinkedToAnotherException.class
+      ResourceLinkedToAnotherException.class,
+      InsufficientStockException.class
   })
   @ResponseStatus(HttpStatus.CONFLICT)
   public ErrorResponse handleException(RuntimeException exception) {
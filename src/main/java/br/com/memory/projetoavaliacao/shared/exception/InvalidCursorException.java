@@ -0,0 +1,7 @@
+package br.com.memory.projetoavaliacao.shared.exception;
+
+public class InvalidCursorException extends RuntimeException {
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
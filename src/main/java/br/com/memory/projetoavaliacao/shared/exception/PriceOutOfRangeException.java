@@ -0,0 +1,7 @@
+package br.com.memory.projetoavaliacao.shared.exception;
+
+public class PriceOutOfRangeException extends RuntimeException {
+  public PriceOutOfRangeException(String message) {
+    super(message);
+  }
+}
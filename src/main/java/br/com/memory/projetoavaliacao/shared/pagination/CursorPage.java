@@ -0,0 +1,15 @@
+package br.com.memory.projetoavaliacao.shared.pagination;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CursorPage<T> {
+  private List<T> content;
+  private String nextCursor;
+}
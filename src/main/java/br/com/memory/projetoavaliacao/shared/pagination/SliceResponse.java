@@ -0,0 +1,27 @@
+package br.com.memory.projetoavaliacao.shared.pagination;
+
+import java.util.List;
+
+import org.springframework.data.domain.Slice;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class SliceResponse<T> {
+  private List<T> content;
+  private int number;
+  private int size;
+  private boolean hasNext;
+
+  public static <T> SliceResponse<T> of(Slice<T> slice) {
+    return new SliceResponse<>(
+        slice.getContent(),
+        slice.getNumber(),
+        slice.getSize(),
+        slice.hasNext());
+  }
+}
@@ -0,0 +1,27 @@
+package br.com.memory.projetoavaliacao.shared.persistence;
+
+import java.sql.SQLException;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+public final class DataIntegrityViolations {
+  private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+  private static final String NUMERIC_VALUE_OUT_OF_RANGE_SQL_STATE = "22003";
+
+  private DataIntegrityViolations() {
+  }
+
+  public static boolean isUniqueViolation(DataIntegrityViolationException exception) {
+    return hasSqlState(exception, UNIQUE_VIOLATION_SQL_STATE);
+  }
+
+  public static boolean isNumericValueOutOfRange(DataIntegrityViolationException exception) {
+    return hasSqlState(exception, NUMERIC_VALUE_OUT_OF_RANGE_SQL_STATE);
+  }
+
+  private static boolean hasSqlState(DataIntegrityViolationException exception, String sqlState) {
+    Throwable cause = exception.getMostSpecificCause();
+    return cause instanceof SQLException
+        && sqlState.equals(((SQLException) cause).getSQLState());
+  }
+}
@@ -0,0 +1,130 @@
+package br.com.memory.projetoavaliacao.shared.persistence;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+public abstract class ProjectionSpecificationSupport<T> {
+  private final Class<T> domainClass;
+  private final EntityManager entityManager;
+
+  protected ProjectionSpecificationSupport(Class<T> domainClass, EntityManager entityManager) {
+    this.domainClass = domainClass;
+    this.entityManager = entityManager;
+  }
+
+  protected EntityManager getEntityManager() {
+    return entityManager;
+  }
+
+  protected <R> Page<R> findPage(
+      Specification<T> spec,
+      Pageable pageable,
+      Class<R> projection,
+      String... attributePaths) {
+    TypedQuery<R> query = createQuery(spec, pageable, projection, attributePaths);
+
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize());
+    }
+
+    return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+  }
+
+  protected <R> Slice<R> findSlice(
+      Specification<T> spec,
+      Pageable pageable,
+      Class<R> projection,
+      String... attributePaths) {
+    TypedQuery<R> query = createQuery(spec, pageable, projection, attributePaths);
+
+    if (pageable.isUnpaged()) {
+      return new SliceImpl<>(query.getResultList(), pageable, false);
+    }
+
+    int pageSize = pageable.getPageSize();
+    query.setFirstResult((int) pageable.getOffset());
+    query.setMaxResults(pageSize + 1);
+
+    List<R> content = query.getResultList();
+    boolean hasNext = content.size() > pageSize;
+
+    return new SliceImpl<>(hasNext ? content.subList(0, pageSize) : content, pageable, hasNext);
+  }
+
+  private <R> TypedQuery<R> createQuery(
+      Specification<T> spec,
+      Pageable pageable,
+      Class<R> projection,
+      String... attributePaths) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<R> criteriaQuery = criteriaBuilder.createQuery(projection);
+    Root<T> root = criteriaQuery.from(domainClass);
+
+    Selection<?>[] selections = Arrays.stream(attributePaths)
+        .map(attributePath -> toPath(root, attributePath))
+        .toArray(Selection[]::new);
+    criteriaQuery.select(criteriaBuilder.construct(projection, selections));
+    applySpecification(spec, root, criteriaQuery, criteriaBuilder);
+
+    if (pageable.getSort().isSorted()) {
+      criteriaQuery.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+    }
+
+    return entityManager.createQuery(criteriaQuery);
+  }
+
+  private long count(Specification<T> spec) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> criteriaQuery = criteriaBuilder.createQuery(Long.class);
+    Root<T> root = criteriaQuery.from(domainClass);
+
+    criteriaQuery.select(criteriaBuilder.count(root));
+    applySpecification(spec, root, criteriaQuery, criteriaBuilder);
+
+    return entityManager.createQuery(criteriaQuery).getSingleResult();
+  }
+
+  private void applySpecification(
+      Specification<T> spec,
+      Root<T> root,
+      CriteriaQuery<?> criteriaQuery,
+      CriteriaBuilder criteriaBuilder) {
+    if (spec == null) {
+      return;
+    }
+
+    Predicate predicate = spec.toPredicate(root, criteriaQuery, criteriaBuilder);
+
+    if (predicate != null) {
+      criteriaQuery.where(predicate);
+    }
+  }
+
+  private Path<?> toPath(Root<T> root, String attributePath) {
+    Path<?> path = root;
+
+    for (String attribute : attributePath.split("\\.")) {
+      path = path.get(attribute);
+    }
+
+    return path;
+  }
+}
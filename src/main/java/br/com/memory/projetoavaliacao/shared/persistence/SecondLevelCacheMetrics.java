@@ -0,0 +1,40 @@
+package br.com.memory.projetoavaliacao.shared.persistence;
+
+import javax.cache.CacheManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+  private final EntityManagerFactory entityManagerFactory;
+
+  public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+        .getCache()
+        .getRegionFactory();
+
+    if (!(regionFactory instanceof JCacheRegionFactory)) {
+      return;
+    }
+
+    CacheManager cacheManager = ((JCacheRegionFactory) regionFactory).getCacheManager();
+
+    for (String cacheName : cacheManager.getCacheNames()) {
+      JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.empty());
+    }
+  }
+}
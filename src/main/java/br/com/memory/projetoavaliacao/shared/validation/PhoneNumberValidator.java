@@ -9,7 +9,7 @@ public class PhoneNumberValidator implements ConstraintValidator<PhoneNumber, St
   @Override
   public boolean isValid(String value, ConstraintValidatorContext context) {
     if (value == null) {
-      return false;
+      return true;
     }
     return Pattern.matches("^\\(\\d{2}\\)\\d{4}-\\d{4}$", value);
   }
@@ -0,0 +1 @@
+ALTER TABLE medicine ADD COLUMN content_hash TEXT;
@@ -0,0 +1 @@
+CREATE INDEX medicine_manufacturer_id_idx ON medicine (manufacturer_id);
@@ -0,0 +1 @@
+CREATE INDEX medicine_name_registration_number_idx ON medicine (name, registration_number);
@@ -0,0 +1,5 @@
+ALTER TABLE manufacturer ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE adverse_reaction ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE manufacturer_id_seq INCREMENT BY 50;
+CREATE SEQUENCE adverse_reaction_id_seq INCREMENT BY 50;
@@ -0,0 +1,2 @@
+ALTER SEQUENCE manufacturer_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM manufacturer);
+ALTER SEQUENCE adverse_reaction_id_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 1 FROM adverse_reaction);
@@ -0,0 +1,13 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX medicine_name_trgm_idx
+  ON medicine USING GIN (LOWER(name) gin_trgm_ops);
+
+CREATE INDEX medicine_registration_number_trgm_idx
+  ON medicine USING GIN (registration_number gin_trgm_ops);
+
+CREATE INDEX manufacturer_name_trgm_idx
+  ON manufacturer USING GIN (LOWER(name) gin_trgm_ops);
+
+CREATE INDEX adverse_reaction_description_trgm_idx
+  ON adverse_reaction USING GIN (LOWER(description) gin_trgm_ops);
@@ -0,0 +1,2 @@
+SELECT setval('manufacturer_id_seq', COALESCE(MAX(id), 0) + 1, false) FROM manufacturer;
+SELECT setval('adverse_reaction_id_seq', COALESCE(MAX(id), 0) + 1, false) FROM adverse_reaction;
@@ -0,0 +1,107 @@
+package br.com.memory.projetoavaliacao.adversereaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AdverseReactionCacheTest {
+  @Mock
+  private AdverseReactionRepository adverseReactionRepository;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private Cache cache;
+
+  private AdverseReactionCache adverseReactionCache;
+
+  @BeforeEach
+  void setUp() {
+    when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+    when(entityManagerFactory.getCache()).thenReturn(cache);
+    adverseReactionCache = new AdverseReactionCache(adverseReactionRepository, entityManager);
+  }
+
+  @Test
+  @DisplayName("findAllById() should query only the ids missing from the second-level cache")
+  void findAllByIdShouldQueryOnlyTheIdsMissingFromTheSecondLevelCache() {
+    // given
+    AdverseReaction firstReaction = new AdverseReaction(1L, "first reaction");
+    AdverseReaction secondReaction = new AdverseReaction(2L, "second reaction");
+    when(cache.contains(AdverseReaction.class, 1L)).thenReturn(true);
+    when(entityManager.find(AdverseReaction.class, 1L)).thenReturn(firstReaction);
+    when(cache.contains(AdverseReaction.class, 2L)).thenReturn(false);
+    when(adverseReactionRepository.findAllById(Set.of(2L))).thenReturn(List.of(secondReaction));
+
+    // when
+    List<AdverseReaction> adverseReactions = adverseReactionCache.findAllById(Set.of(1L, 2L));
+
+    // then
+    assertThat(adverseReactions).containsExactlyInAnyOrder(firstReaction, secondReaction);
+  }
+
+  @Test
+  @DisplayName("findAllById() should not query the repository when every id is cached")
+  void findAllByIdShouldNotQueryTheRepositoryWhenEveryIdIsCached() {
+    // given
+    AdverseReaction adverseReaction = new AdverseReaction(1L, "reaction");
+    when(cache.contains(AdverseReaction.class, 1L)).thenReturn(true);
+    when(entityManager.find(AdverseReaction.class, 1L)).thenReturn(adverseReaction);
+
+    // when
+    List<AdverseReaction> adverseReactions = adverseReactionCache.findAllById(Set.of(1L));
+
+    // then
+    assertThat(adverseReactions).containsExactly(adverseReaction);
+    verify(adverseReactionRepository, never()).findAllById(any());
+  }
+
+  @Test
+  @DisplayName("findAllById() should query a cached id again when it was evicted before being read")
+  void findAllByIdShouldQueryACachedIdAgainWhenItWasEvictedBeforeBeingRead() {
+    // given
+    when(cache.contains(AdverseReaction.class, 1L)).thenReturn(true);
+    when(entityManager.find(AdverseReaction.class, 1L)).thenReturn(null);
+    when(adverseReactionRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+
+    // when
+    List<AdverseReaction> adverseReactions = adverseReactionCache.findAllById(Set.of(1L));
+
+    // then
+    assertThat(adverseReactions).isEmpty();
+  }
+
+  @Test
+  @DisplayName("findAllById() should omit ids that do not exist")
+  void findAllByIdShouldOmitIdsThatDoNotExist() {
+    // given
+    when(adverseReactionRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+
+    // when
+    List<AdverseReaction> adverseReactions = adverseReactionCache.findAllById(Set.of(1L));
+
+    // then
+    assertThat(adverseReactions).isEmpty();
+  }
+}
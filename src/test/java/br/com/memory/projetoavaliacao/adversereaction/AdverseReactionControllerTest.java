@@ -23,6 +23,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -31,6 +33,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceLinkedToAnotherException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
 
 @WebMvcTest(AdverseReactionController.class)
 public class AdverseReactionControllerTest {
@@ -48,9 +51,9 @@ public class AdverseReactionControllerTest {
   void getAdverseReactionsShouldReturn200AndPagedListOfAdverseReactionsWhenGivenFilterAndPagination() throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<AdverseReaction> adverseReactions = List.of(
-        new AdverseReaction(1L, "Strong reaction"));
-    Page<AdverseReaction> pagedAdverseReactions = new PageImpl<>(
+    List<AdverseReactionView> adverseReactions = List.of(
+        new AdverseReactionView(1L, "Strong reaction"));
+    Page<AdverseReactionView> pagedAdverseReactions = new PageImpl<>(
         adverseReactions,
         pageable,
         adverseReactions.size());
@@ -75,9 +78,9 @@ public class AdverseReactionControllerTest {
       throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<AdverseReaction> adverseReactions = List.of(
-        new AdverseReaction(1L, "Strong reaction"));
-    Page<AdverseReaction> pagedAdverseReactions = new PageImpl<>(
+    List<AdverseReactionView> adverseReactions = List.of(
+        new AdverseReactionView(1L, "Strong reaction"));
+    Page<AdverseReactionView> pagedAdverseReactions = new PageImpl<>(
         adverseReactions,
         pageable,
         adverseReactions.size());
@@ -93,6 +96,30 @@ public class AdverseReactionControllerTest {
         .andExpect(content().string(expected));
   }
 
+  @Test
+  @DisplayName("GET /adverse-reactions should return 200 and sliced list of adverse reactions when given count=false")
+  void getAdverseReactionsShouldReturn200AndSlicedListOfAdverseReactionsWhenGivenCountFalse() throws Exception {
+    // given
+    Pageable pageable = PageRequest.of(0, 1);
+    List<AdverseReactionView> adverseReactions = List.of(
+        new AdverseReactionView(1L, "Strong reaction"));
+    Slice<AdverseReactionView> slicedAdverseReactions = new SliceImpl<>(adverseReactions, pageable, true);
+
+    when(adverseReactionService.findSliceBy("strong", pageable))
+        .thenReturn(slicedAdverseReactions);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(SliceResponse.of(slicedAdverseReactions));
+    mockMvc.perform(get("/adverse-reactions")
+        .param("description", "strong")
+        .param("count", "false")
+        .param("page", "0")
+        .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
   @Test
   @DisplayName("POST /adverse-reactions should return 201 and adverse reaction when given valid input")
   void postAdverseReactionsShouldReturn201AndAdverseReactionWhenGivenValidInput() throws Exception {
@@ -5,12 +5,16 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -20,6 +24,9 @@ public class AdverseReactionRepositoryTest {
   @Autowired
   private AdverseReactionRepository adverseReactionRepository;
 
+  @Autowired
+  private TestEntityManager testEntityManager;
+
   @BeforeEach
   void cleanUp() {
     adverseReactionRepository.deleteAll();
@@ -36,7 +43,7 @@ public class AdverseReactionRepositoryTest {
     adverseReactionRepository.saveAll(adverseReactions);
 
     // when
-    Page<AdverseReaction> retrievedAdverseReactions = adverseReactionRepository.findAllBy(null, null);
+    Page<AdverseReactionView> retrievedAdverseReactions = adverseReactionRepository.findAllBy(null, Pageable.unpaged());
 
     // then
     assertThat(retrievedAdverseReactions.getTotalElements()).isEqualTo(adverseReactions.size());
@@ -55,7 +62,7 @@ public class AdverseReactionRepositoryTest {
 
     // when
     Pageable firstPage = PageRequest.of(0, 2);
-    Page<AdverseReaction> pagedAdverseReactions = adverseReactionRepository.findAllBy(null, firstPage);
+    Page<AdverseReactionView> pagedAdverseReactions = adverseReactionRepository.findAllBy(null, firstPage);
 
     // then
     assertThat(pagedAdverseReactions.getTotalElements()).isEqualTo(adverseReactions.size());
@@ -76,7 +83,7 @@ public class AdverseReactionRepositoryTest {
 
     // when
     String descriptionFilter = "bad";
-    Page<AdverseReaction> filteredAdverseReactions = adverseReactionRepository.findAllBy(descriptionFilter, null);
+    Page<AdverseReactionView> filteredAdverseReactions = adverseReactionRepository.findAllBy(descriptionFilter, Pageable.unpaged());
 
     // then
     List<String> expectedAdverseReactionDescriptions = List.of("Bad reaction", "Very bad reaction");
@@ -104,7 +111,7 @@ public class AdverseReactionRepositoryTest {
     // when
     String descriptionFilter = "bad";
     Pageable firstPage = PageRequest.of(0, 2);
-    Page<AdverseReaction> retrievedAdverseReactions = adverseReactionRepository.findAllBy(
+    Page<AdverseReactionView> retrievedAdverseReactions = adverseReactionRepository.findAllBy(
         descriptionFilter,
         firstPage);
 
@@ -121,4 +128,27 @@ public class AdverseReactionRepositoryTest {
       assertThat(description.getDescription()).isIn(expectedAdverseReactionDescriptions);
     });
   }
+
+  @Test
+  @DisplayName("saveAll() should insert adverse reactions in batched statements")
+  void saveAllShouldInsertAdverseReactionsInBatchedStatements() {
+    // given
+    List<AdverseReaction> adverseReactions = IntStream.range(0, 100)
+        .mapToObj(i -> new AdverseReaction("reaction " + i))
+        .collect(Collectors.toList());
+
+    Statistics statistics = testEntityManager.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    // when
+    adverseReactionRepository.saveAll(adverseReactions);
+    testEntityManager.flush();
+
+    // then
+    long twoSequenceCallsAndTwoInsertBatches = 4;
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(twoSequenceCallsAndTwoInsertBatches);
+  }
 }
@@ -19,6 +19,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import br.com.memory.projetoavaliacao.medicine.MedicineCache;
 import br.com.memory.projetoavaliacao.medicine.MedicineRepository;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceLinkedToAnotherException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
@@ -31,11 +32,17 @@ public class AdverseReactionServiceTest {
   @Mock
   private MedicineRepository medicineRepository;
 
+  @Mock
+  private MedicineCache medicineCache;
+
   private AdverseReactionService adverseReactionService;
 
   @BeforeEach
   void setUp() {
-    adverseReactionService = new AdverseReactionService(adverseReactionRepository, medicineRepository);
+    adverseReactionService = new AdverseReactionService(
+        adverseReactionRepository,
+        medicineRepository,
+        medicineCache);
   }
 
   @Test
@@ -52,6 +59,20 @@ public class AdverseReactionServiceTest {
     verify(adverseReactionRepository).findAllBy(description, page);
   }
 
+  @Test
+  @DisplayName("findSliceBy() should call adverse reaction repository with the given arguments")
+  void findSliceByShouldCallAdverseReactionRepositoryWithTheGivenArguments() {
+    // given
+    String description = "some description";
+    Pageable page = PageRequest.of(0, 1);
+
+    // when
+    adverseReactionService.findSliceBy(description, page);
+
+    // then
+    verify(adverseReactionRepository).findSliceBy(description, page);
+  }
+
   @Test
   @DisplayName("create() should create a new adverse reaction and return it")
   void createShouldCreateNewAdverseReactionAndReturnIt() {
@@ -105,6 +126,7 @@ public class AdverseReactionServiceTest {
     assertThat(updatedAdverseReaction).isNotNull();
     assertThat(updatedAdverseReaction.getId()).isEqualTo(id);
     assertThat(updatedAdverseReaction.getDescription()).isEqualTo(adverseReactionDto.getDescription());
+    verify(medicineCache).invalidateAll();
   }
 
   @Test
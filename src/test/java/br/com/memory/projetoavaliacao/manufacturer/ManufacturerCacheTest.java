@@ -0,0 +1,115 @@
+package br.com.memory.projetoavaliacao.manufacturer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+public class ManufacturerCacheTest {
+  @Mock
+  private ManufacturerRepository manufacturerRepository;
+
+  private ManufacturerCache manufacturerCache;
+
+  @BeforeEach
+  void setUp() {
+    when(manufacturerRepository.findAll()).thenReturn(List.of(
+        new Manufacturer(2L, "Eurofarma"),
+        new Manufacturer(1L, "EMS")));
+
+    manufacturerCache = new ManufacturerCache(manufacturerRepository);
+    manufacturerCache.refresh();
+  }
+
+  @Test
+  @DisplayName("findById() should return a preloaded manufacturer without querying the repository")
+  void findByIdShouldReturnPreloadedManufacturerWithoutQueryingTheRepository() {
+    // when
+    Optional<Manufacturer> manufacturer = manufacturerCache.findById(2L);
+
+    // then
+    assertThat(manufacturer).contains(new Manufacturer(2L, "Eurofarma"));
+    verify(manufacturerRepository, never()).findById(2L);
+  }
+
+  @Test
+  @DisplayName("findById() should read through a missing manufacturer only once")
+  void findByIdShouldReadThroughMissingManufacturerOnlyOnce() {
+    // given
+    when(manufacturerRepository.findById(3L)).thenReturn(Optional.of(new Manufacturer(3L, "Sanofi")));
+
+    // when
+    manufacturerCache.findById(3L);
+    Optional<Manufacturer> manufacturer = manufacturerCache.findById(3L);
+
+    // then
+    assertThat(manufacturer).contains(new Manufacturer(3L, "Sanofi"));
+    assertThat(manufacturerCache.findAll()).containsExactly(
+        new ManufacturerView(1L, "EMS"),
+        new ManufacturerView(2L, "Eurofarma"),
+        new ManufacturerView(3L, "Sanofi"));
+    verify(manufacturerRepository, times(1)).findById(3L);
+  }
+
+  @Test
+  @DisplayName("findById() should return empty when the manufacturer does not exist")
+  void findByIdShouldReturnEmptyWhenTheManufacturerDoesNotExist() {
+    // given
+    when(manufacturerRepository.findById(3L)).thenReturn(Optional.empty());
+
+    // when
+    Optional<Manufacturer> manufacturer = manufacturerCache.findById(3L);
+
+    // then
+    assertThat(manufacturer).isEmpty();
+  }
+
+  @Test
+  @DisplayName("getEntityTag() should change when a manufacturer is added")
+  void getEntityTagShouldChangeWhenManufacturerIsAdded() {
+    // given
+    String entityTag = manufacturerCache.getEntityTag();
+    when(manufacturerRepository.findById(3L)).thenReturn(Optional.of(new Manufacturer(3L, "Sanofi")));
+
+    // when
+    manufacturerCache.findById(3L);
+
+    // then
+    assertThat(manufacturerCache.getEntityTag()).isNotEqualTo(entityTag);
+  }
+
+  @Test
+  @DisplayName("bindTo() should count cache hits and misses")
+  void bindToShouldCountCacheHitsAndMisses() {
+    // given
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    manufacturerCache.bindTo(registry);
+    when(manufacturerRepository.findById(3L)).thenReturn(Optional.empty());
+
+    // when
+    manufacturerCache.findById(1L);
+    manufacturerCache.findById(2L);
+    manufacturerCache.findById(3L);
+
+    // then
+    assertThat(registry.get("manufacturer.cache.requests").tag("result", "hit").functionCounter().count())
+        .isEqualTo(2);
+    assertThat(registry.get("manufacturer.cache.requests").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("manufacturer.cache.size").gauge().value()).isEqualTo(2);
+  }
+}
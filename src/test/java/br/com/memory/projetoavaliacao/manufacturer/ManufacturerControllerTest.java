@@ -9,6 +9,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import java.util.List;
 
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,10 +20,17 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
+
 @WebMvcTest(ManufacturerController.class)
 public class ManufacturerControllerTest {
   @Autowired
@@ -39,11 +47,12 @@ public class ManufacturerControllerTest {
   void getManufacturersShouldReturn200AndPagedListOfManufacturersWhenGivenFilterAndPagination() throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<Manufacturer> manufacturers = List.of(new Manufacturer(1L, "Manufacturer"));
-    Page<Manufacturer> pagedManufacturers = new PageImpl<>(manufacturers, pageable, manufacturers.size());
+    List<ManufacturerView> manufacturers = List.of(new ManufacturerView(1L, "Manufacturer"));
+    Page<ManufacturerView> pagedManufacturers = new PageImpl<>(manufacturers, pageable, manufacturers.size());
 
     when(manufacturerService.findAllBy("manu", pageable))
         .thenReturn(pagedManufacturers);
+    when(manufacturerService.getEntityTag()).thenReturn("tag");
 
     // when
     // then
@@ -53,19 +62,42 @@ public class ManufacturerControllerTest {
         .param("page", "0")
         .param("size", "10"))
         .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"tag\""))
+        .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=600, public"))
         .andExpect(content().string(expected));
   }
 
+  @Test
+  @DisplayName("GET /manufacturers should return 304 when given the current ETag")
+  void getManufacturersShouldReturn304WhenGivenTheCurrentEtag() throws Exception {
+    // given
+    Pageable pageable = PageRequest.of(0, 10);
+    List<ManufacturerView> manufacturers = List.of(new ManufacturerView(1L, "Manufacturer"));
+    Page<ManufacturerView> pagedManufacturers = new PageImpl<>(manufacturers, pageable, manufacturers.size());
+
+    when(manufacturerService.findAllBy(eq(null), any(Pageable.class)))
+        .thenReturn(pagedManufacturers);
+    when(manufacturerService.getEntityTag()).thenReturn("tag");
+
+    // when
+    // then
+    mockMvc.perform(get("/manufacturers")
+        .header(HttpHeaders.IF_NONE_MATCH, "\"tag\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
   @Test
   @DisplayName("GET /manufacturers should return 200 and paged list of manufacturers when not given filter and pagination")
   void getManufacturersShouldReturn200AndPagedListOfManufacturersWhenNotGivenFilterAndPagination() throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<Manufacturer> manufacturers = List.of(new Manufacturer(1L, "Manufacturer"));
-    Page<Manufacturer> pagedManufacturers = new PageImpl<>(manufacturers, pageable, manufacturers.size());
+    List<ManufacturerView> manufacturers = List.of(new ManufacturerView(1L, "Manufacturer"));
+    Page<ManufacturerView> pagedManufacturers = new PageImpl<>(manufacturers, pageable, manufacturers.size());
 
     when(manufacturerService.findAllBy(eq(null), any(Pageable.class)))
         .thenReturn(pagedManufacturers);
+    when(manufacturerService.getEntityTag()).thenReturn("tag");
 
     // when
     // then
@@ -74,4 +106,42 @@ public class ManufacturerControllerTest {
         .andExpect(status().isOk())
         .andExpect(content().string(expected));
   }
+
+  @Test
+  @DisplayName("GET /manufacturers should return 200 and sliced list of manufacturers when given count=false")
+  void getManufacturersShouldReturn200AndSlicedListOfManufacturersWhenGivenCountFalse() throws Exception {
+    // given
+    Pageable pageable = PageRequest.of(0, 1);
+    List<ManufacturerView> manufacturers = List.of(new ManufacturerView(1L, "Manufacturer"));
+    Slice<ManufacturerView> slicedManufacturers = new SliceImpl<>(manufacturers, pageable, true);
+
+    when(manufacturerService.findSliceBy("manu", pageable))
+        .thenReturn(slicedManufacturers);
+    when(manufacturerService.getEntityTag()).thenReturn("tag");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(SliceResponse.of(slicedManufacturers));
+    mockMvc.perform(get("/manufacturers")
+        .param("name", "manu")
+        .param("count", "false")
+        .param("page", "0")
+        .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /manufacturers should return 400 when sorted by an unknown property")
+  void getManufacturersShouldReturn400WhenSortedByAnUnknownProperty() throws Exception {
+    // given
+    when(manufacturerService.findAllBy(eq(null), any(Pageable.class)))
+        .thenThrow(new PropertyReferenceException("unknown", ClassTypeInformation.from(Manufacturer.class), List.of()));
+    when(manufacturerService.getEntityTag()).thenReturn("tag");
+
+    // when
+    // then
+    mockMvc.perform(get("/manufacturers").param("sort", "unknown"))
+        .andExpect(status().isBadRequest());
+  }
 }
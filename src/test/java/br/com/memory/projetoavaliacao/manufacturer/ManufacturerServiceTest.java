@@ -1,6 +1,10 @@
 package br.com.memory.projetoavaliacao.manufacturer;
 
-import static org.mockito.Mockito.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,32 +12,207 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyReferenceException;
 
 @ExtendWith(MockitoExtension.class)
 public class ManufacturerServiceTest {
   @Mock
-  private ManufacturerRepository manufacturerRepository;
+  private ManufacturerCache manufacturerCache;
 
   private ManufacturerService manufacturerService;
 
+  private final List<ManufacturerView> manufacturers = List.of(
+      new ManufacturerView(1L, "EMS"),
+      new ManufacturerView(2L, "Eurofarma"),
+      new ManufacturerView(3L, "Sanofi"),
+      new ManufacturerView(4L, "Mantecorp"));
+
   @BeforeEach
   void setUp() {
-    manufacturerService = new ManufacturerService(manufacturerRepository);
+    manufacturerService = new ManufacturerService(manufacturerCache);
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return cached manufacturers containing the given name ignoring case")
+  void findAllByShouldReturnCachedManufacturersContainingTheGivenNameIgnoringCase() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+
+    // when
+    Page<ManufacturerView> pagedManufacturers = manufacturerService.findAllBy("E", Pageable.unpaged());
+
+    // then
+    assertThat(pagedManufacturers.getTotalElements()).isEqualTo(3);
+    assertThat(pagedManufacturers.getContent()).containsExactly(
+        manufacturers.get(0),
+        manufacturers.get(1),
+        manufacturers.get(3));
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return the requested page of the sorted manufacturers")
+  void findAllByShouldReturnTheRequestedPageOfTheSortedManufacturers() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+    Pageable page = PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "name"));
+
+    // when
+    Page<ManufacturerView> pagedManufacturers = manufacturerService.findAllBy(null, page);
+
+    // then
+    assertThat(pagedManufacturers.getTotalElements()).isEqualTo(manufacturers.size());
+    assertThat(pagedManufacturers.getNumber()).isEqualTo(1);
+    assertThat(pagedManufacturers.getContent()).containsExactly(
+        manufacturers.get(1),
+        manufacturers.get(0));
+  }
+
+  @Test
+  @DisplayName("findAllBy() should throw when sorted by an unknown property")
+  void findAllByShouldThrowWhenSortedByAnUnknownProperty() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+    Pageable page = PageRequest.of(0, 2, Sort.by("unknown"));
+
+    // when
+    // then
+    assertThatThrownBy(() -> manufacturerService.findAllBy(null, page))
+        .isInstanceOf(PropertyReferenceException.class);
+  }
+
+  @Test
+  @DisplayName("findSliceBy() should tell whether there is a next slice")
+  void findSliceByShouldTellWhetherThereIsNextSlice() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+
+    // when
+    Slice<ManufacturerView> firstSlice = manufacturerService.findSliceBy(null, PageRequest.of(0, 3));
+    Slice<ManufacturerView> lastSlice = manufacturerService.findSliceBy(null, PageRequest.of(1, 3));
+
+    // then
+    assertThat(firstSlice.getContent()).containsExactlyElementsOf(manufacturers.subList(0, 3));
+    assertThat(firstSlice.hasNext()).isTrue();
+    assertThat(lastSlice.getContent()).containsExactly(manufacturers.get(3));
+    assertThat(lastSlice.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return all manufacturers when not given name and pagination")
+  void findAllByShouldReturnAllManufacturersWhenNotGivenNameAndPagination() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+
+    // when
+    Page<ManufacturerView> retrievedManufacturers = manufacturerService.findAllBy(null, Pageable.unpaged());
+
+    // then
+    assertThat(retrievedManufacturers.getTotalElements()).isEqualTo(manufacturers.size());
+    assertThat(retrievedManufacturers.getContent()).containsExactlyElementsOf(manufacturers);
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return a paged list of manufacturers when given only pagination")
+  void findAllByShouldReturnPagedListOfManufacturersWhenGivenOnlyPagination() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+    Pageable firstPage = PageRequest.of(0, 3);
+
+    // when
+    Page<ManufacturerView> pagedManufacturers = manufacturerService.findAllBy(null, firstPage);
+
+    // then
+    assertThat(pagedManufacturers.getTotalElements()).isEqualTo(manufacturers.size());
+    assertThat(pagedManufacturers.getNumberOfElements()).isEqualTo(firstPage.getPageSize());
+    assertThat(pagedManufacturers.getSize()).isEqualTo(firstPage.getPageSize());
+    assertThat(pagedManufacturers.getNumber()).isEqualTo(firstPage.getPageNumber());
+  }
+
+  @Test
+  @DisplayName("findAllBy() should match the given name anywhere in the manufacturer name")
+  void findAllByShouldMatchTheGivenNameAnywhereInTheManufacturerName() {
+    // given
+    List<ManufacturerView> namedManufacturers = List.of(
+        new ManufacturerView(1L, "The Manu"),
+        new ManufacturerView(2L, "The Facturer"),
+        new ManufacturerView(3L, "The Manufacturer"));
+    when(manufacturerCache.findAll()).thenReturn(namedManufacturers);
+
+    // when
+    Page<ManufacturerView> filteredManufacturers = manufacturerService.findAllBy("MANU", Pageable.unpaged());
+
+    // then
+    assertThat(filteredManufacturers.getTotalElements()).isEqualTo(2);
+    assertThat(filteredManufacturers.getContent()).containsExactly(
+        namedManufacturers.get(0),
+        namedManufacturers.get(2));
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return a filtered and paged list of manufacturers when given name and pagination")
+  void findAllByShouldReturnFilteredAndPagedListOfManufacturersWhenGivenNameAndPagination() {
+    // given
+    List<ManufacturerView> namedManufacturers = List.of(
+        new ManufacturerView(1L, "The Manu"),
+        new ManufacturerView(2L, "The Facturer"),
+        new ManufacturerView(3L, "The Manufacturer"),
+        new ManufacturerView(4L, "A Manufacturer"));
+    when(manufacturerCache.findAll()).thenReturn(namedManufacturers);
+    Pageable firstPage = PageRequest.of(0, 2);
+
+    // when
+    Page<ManufacturerView> filteredAndPagedManufacturers = manufacturerService.findAllBy("facturer", firstPage);
+
+    // then
+    assertThat(filteredAndPagedManufacturers.getTotalElements()).isEqualTo(3);
+    assertThat(filteredAndPagedManufacturers.getContent()).containsExactly(
+        namedManufacturers.get(1),
+        namedManufacturers.get(2));
+  }
+
+  @Test
+  @DisplayName("findAllBy() should return an empty page when the page starts past the last manufacturer")
+  void findAllByShouldReturnAnEmptyPageWhenThePageStartsPastTheLastManufacturer() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+
+    // when
+    Page<ManufacturerView> pagedManufacturers = manufacturerService.findAllBy(null, PageRequest.of(5, 2));
+
+    // then
+    assertThat(pagedManufacturers.getContent()).isEmpty();
+    assertThat(pagedManufacturers.getTotalElements()).isEqualTo(manufacturers.size());
+  }
+
+  @Test
+  @DisplayName("findSliceBy() should return a filtered slice that has next when more manufacturers match than the page size")
+  void findSliceByShouldReturnAFilteredSliceThatHasNextWhenMoreManufacturersMatchThanThePageSize() {
+    // given
+    when(manufacturerCache.findAll()).thenReturn(manufacturers);
+
+    // when
+    Slice<ManufacturerView> slicedManufacturers = manufacturerService.findSliceBy("e", PageRequest.of(0, 2));
+
+    // then
+    assertThat(slicedManufacturers.getContent()).containsExactly(manufacturers.get(0), manufacturers.get(1));
+    assertThat(slicedManufacturers.hasNext()).isTrue();
   }
 
   @Test
-  @DisplayName("findAllBy() should call repository with the given arguments")
-  void findAllByShouldCallRepositoryWithTheGivenArguments() {
+  @DisplayName("getEntityTag() should return the entity tag of the cache")
+  void getEntityTagShouldReturnTheEntityTagOfTheCache() {
     // given
-    String nameFilter = "just a name";
-    Pageable page = PageRequest.of(0, 1);
+    when(manufacturerCache.getEntityTag()).thenReturn("tag");
 
     // when
-    manufacturerService.findAllBy(nameFilter, page);
+    String entityTag = manufacturerService.getEntityTag();
 
     // then
-    verify(manufacturerRepository).findAllBy(nameFilter, page);
+    assertThat(entityTag).isEqualTo("tag");
   }
 }
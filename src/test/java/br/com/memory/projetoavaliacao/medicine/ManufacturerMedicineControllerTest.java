@@ -0,0 +1,156 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
+import br.com.memory.projetoavaliacao.shared.exception.PriceOutOfRangeException;
+import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+
+@WebMvcTest(ManufacturerMedicineController.class)
+public class ManufacturerMedicineControllerTest {
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @MockBean
+  private MedicineService medicineService;
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/reprice should return 200 and number of affected medicines")
+  void postManufacturerMedicinesRepriceShouldReturn200AndNumberOfAffectedMedicines() throws Exception {
+    // given
+    MedicineBulkUpdateResult result = new MedicineBulkUpdateResult(3L, 42);
+    when(medicineService.repriceAllByManufacturerId(3L, new BigDecimal("4.5"))).thenReturn(result);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(result);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/reprice", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"percentage\":4.5}"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/reprice should return 400 when given a percentage below -100")
+  void postManufacturerMedicinesRepriceShouldReturn400WhenGivenPercentageBelowMinus100() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The percentage field must not be less than -100");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/reprice", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineRepriceDto(new BigDecimal("-101")))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/reprice should return 400 when given a percentage above 1000")
+  void postManufacturerMedicinesRepriceShouldReturn400WhenGivenPercentageAbove1000() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The percentage field must not be greater than 1000");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/reprice", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineRepriceDto(new BigDecimal("1001")))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/reprice should return 400 when a price would overflow")
+  void postManufacturerMedicinesRepriceShouldReturn400WhenAPriceWouldOverflow() throws Exception {
+    // given
+    when(medicineService.repriceAllByManufacturerId(3L, new BigDecimal("900")))
+        .thenThrow(new PriceOutOfRangeException("out of range"));
+    ErrorResponse errorResponse = new ErrorResponse(400, "out of range");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/reprice", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{\"percentage\":900}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/reprice should return 404 when given a non-existent manufacturer")
+  void postManufacturerMedicinesRepriceShouldReturn404WhenGivenNonExistentManufacturer() throws Exception {
+    // given
+    when(medicineService.repriceAllByManufacturerId(eq(3L), any(BigDecimal.class)))
+        .thenThrow(ResourceNotFoundException.class);
+
+    // when
+    // then
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/reprice", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineRepriceDto(BigDecimal.TEN))))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/bulk-update should return 200 and number of affected medicines")
+  void postManufacturerMedicinesBulkUpdateShouldReturn200AndNumberOfAffectedMedicines() throws Exception {
+    // given
+    MedicineBulkUpdateDto medicineBulkUpdateDto = new MedicineBulkUpdateDto(LocalDate.of(2030, 1, 1), null);
+    MedicineBulkUpdateResult result = new MedicineBulkUpdateResult(3L, 42);
+    when(medicineService.updateAllByManufacturerId(3L, medicineBulkUpdateDto)).thenReturn(result);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(result);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/bulk-update", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Map.of("expirationDate", LocalDate.of(2030, 1, 1)))))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /manufacturers/{manufacturerId}/medicines/bulk-update should return 400 when given no field")
+  void postManufacturerMedicinesBulkUpdateShouldReturn400WhenGivenNoField() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(
+        400,
+        "At least one of the expirationDate and customerServicePhone fields must be given");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/manufacturers/{manufacturerId}/medicines/bulk-update", 3L)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+}
@@ -0,0 +1,241 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.memory.projetoavaliacao.ApplicationConfig;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicineCacheTest {
+  private static final String REGISTRATION_NUMBER = "1.4444.4444.333-1";
+
+  @Mock
+  private MedicineRepository medicineRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MedicineCache medicineCache;
+
+  private ObjectMapper objectMapper;
+
+  @BeforeEach
+  void setUp() {
+    Jackson2ObjectMapperBuilder objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+    new ApplicationConfig().jsonCustomizer().customize(objectMapperBuilder);
+    objectMapper = objectMapperBuilder.build();
+
+    medicineCache = new MedicineCache(medicineRepository, transactionManager, objectMapper);
+  }
+
+  @Test
+  @DisplayName("findByRegistrationNumber() should not open a transaction when the medicine is cached")
+  void findByRegistrationNumberShouldNotOpenATransactionWhenTheMedicineIsCached() {
+    // given
+    Medicine medicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER)).thenReturn(Optional.of(medicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // when
+    Optional<CachedMedicine> cachedMedicine = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(cachedMedicine).map(CachedMedicine::getMedicine).contains(MedicineView.of(medicine));
+    verify(medicineRepository, times(1)).findById(REGISTRATION_NUMBER);
+    verify(transactionManager, times(1)).getTransaction(any());
+  }
+
+  @Test
+  @DisplayName("findByRegistrationNumber() should not cache registration numbers that do not exist")
+  void findByRegistrationNumberShouldNotCacheRegistrationNumbersThatDoNotExist() {
+    // given
+    Medicine medicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER))
+        .thenReturn(Optional.empty())
+        .thenReturn(Optional.of(medicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // when
+    Optional<CachedMedicine> cachedMedicine = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(cachedMedicine).map(CachedMedicine::getMedicine).contains(MedicineView.of(medicine));
+  }
+
+  @Test
+  @DisplayName("findByRegistrationNumber() should not cache a medicine loaded before a concurrent invalidation")
+  void findByRegistrationNumberShouldNotCacheAMedicineLoadedBeforeAConcurrentInvalidation() {
+    // given
+    Medicine staleMedicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    Medicine updatedMedicine = makeMedicine(REGISTRATION_NUMBER, "updated medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER))
+        .thenAnswer(invocation -> {
+          medicineCache.invalidate(REGISTRATION_NUMBER);
+          return Optional.of(staleMedicine);
+        })
+        .thenReturn(Optional.of(updatedMedicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // when
+    Optional<CachedMedicine> cachedMedicine = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(cachedMedicine).map(CachedMedicine::getMedicine).contains(MedicineView.of(updatedMedicine));
+  }
+
+  @Test
+  @DisplayName("findAllByRegistrationNumber() should query only the registration numbers missing from the cache")
+  void findAllByRegistrationNumberShouldQueryOnlyTheRegistrationNumbersMissingFromTheCache() {
+    // given
+    Medicine firstMedicine = makeMedicine(REGISTRATION_NUMBER, "first medicine");
+    Medicine secondMedicine = makeMedicine("1.4444.4444.333-2", "second medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER)).thenReturn(Optional.of(firstMedicine));
+    when(medicineRepository.findAllIn(Set.of("1.4444.4444.333-2", "1.4444.4444.333-3")))
+        .thenReturn(List.of(secondMedicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // when
+    Map<String, CachedMedicine> medicines = medicineCache.findAllByRegistrationNumber(
+        Set.of(REGISTRATION_NUMBER, "1.4444.4444.333-2", "1.4444.4444.333-3"));
+
+    // then
+    assertThat(medicines).containsOnlyKeys(REGISTRATION_NUMBER, "1.4444.4444.333-2");
+    assertThat(medicines.get("1.4444.4444.333-2").getMedicine()).isEqualTo(MedicineView.of(secondMedicine));
+  }
+
+  @Test
+  @DisplayName("jsonEncoder() should encode a medicine the same way as the object mapper")
+  void jsonEncoderShouldEncodeMedicineTheSameWayAsTheObjectMapper() throws Exception {
+    // given
+    MedicineView medicine = MedicineView.of(makeMedicine(REGISTRATION_NUMBER, "medicine"));
+
+    // when
+    MedicineJson json = medicineCache.jsonEncoder().apply(medicine);
+
+    // then
+    assertThat(objectMapper.writeValueAsString(json)).isEqualTo(objectMapper.writeValueAsString(medicine));
+  }
+
+  @Test
+  @DisplayName("jsonEncoder() should serve the cached fragment when the medicine did not change")
+  void jsonEncoderShouldServeTheCachedFragmentWhenTheMedicineDidNotChange() {
+    // given
+    MedicineView medicine = MedicineView.of(makeMedicine(REGISTRATION_NUMBER, "medicine"));
+    MedicineJson cachedJson = medicineCache.jsonEncoder().apply(medicine);
+
+    // when
+    Optional<CachedMedicine> cachedMedicine = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+    MedicineJson json = medicineCache.jsonEncoder().apply(medicine);
+
+    // then
+    assertThat(json).isSameAs(cachedJson);
+    assertThat(cachedMedicine).map(CachedMedicine::getJson).containsSame(cachedJson);
+    verify(medicineRepository, never()).findById(REGISTRATION_NUMBER);
+  }
+
+  @Test
+  @DisplayName("jsonEncoder() should re-encode a medicine that differs from the cached one")
+  void jsonEncoderShouldReEncodeMedicineThatDiffersFromTheCachedOne() throws Exception {
+    // given
+    MedicineView staleMedicine = MedicineView.of(makeMedicine(REGISTRATION_NUMBER, "medicine"));
+    MedicineView updatedMedicine = MedicineView.of(makeMedicine(REGISTRATION_NUMBER, "updated medicine"));
+    medicineCache.jsonEncoder().apply(staleMedicine);
+
+    // when
+    MedicineJson json = medicineCache.jsonEncoder().apply(updatedMedicine);
+
+    // then
+    assertThat(objectMapper.writeValueAsString(json)).isEqualTo(objectMapper.writeValueAsString(updatedMedicine));
+  }
+
+  @Test
+  @DisplayName("jsonEncoder() should not cache fragments encoded before an invalidation")
+  void jsonEncoderShouldNotCacheFragmentsEncodedBeforeAnInvalidation() {
+    // given
+    Medicine medicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    Function<MedicineView, MedicineJson> jsonEncoder = medicineCache.jsonEncoder();
+    medicineCache.invalidate(REGISTRATION_NUMBER);
+    when(medicineRepository.findById(REGISTRATION_NUMBER)).thenReturn(Optional.of(medicine));
+
+    // when
+    jsonEncoder.apply(MedicineView.of(medicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // then
+    verify(medicineRepository).findById(REGISTRATION_NUMBER);
+  }
+
+  @Test
+  @DisplayName("invalidate() should make the next lookup query the repository and change the entity tag")
+  void invalidateShouldMakeTheNextLookupQueryTheRepositoryAndChangeTheEntityTag() {
+    // given
+    Medicine staleMedicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    Medicine updatedMedicine = makeMedicine(REGISTRATION_NUMBER, "updated medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER))
+        .thenReturn(Optional.of(staleMedicine))
+        .thenReturn(Optional.of(updatedMedicine));
+    String staleEntityTag = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER).orElseThrow().getEntityTag();
+
+    // when
+    medicineCache.invalidate(REGISTRATION_NUMBER);
+    CachedMedicine cachedMedicine = medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER).orElseThrow();
+
+    // then
+    assertThat(cachedMedicine.getMedicine()).isEqualTo(MedicineView.of(updatedMedicine));
+    assertThat(cachedMedicine.getEntityTag()).isNotEqualTo(staleEntityTag);
+  }
+
+  @Test
+  @DisplayName("invalidateAll() should make the next lookup query the repository again")
+  void invalidateAllShouldMakeTheNextLookupQueryTheRepositoryAgain() {
+    // given
+    Medicine medicine = makeMedicine(REGISTRATION_NUMBER, "medicine");
+    when(medicineRepository.findById(REGISTRATION_NUMBER)).thenReturn(Optional.of(medicine));
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // when
+    medicineCache.invalidateAll();
+    medicineCache.findByRegistrationNumber(REGISTRATION_NUMBER);
+
+    // then
+    verify(medicineRepository, times(2)).findById(REGISTRATION_NUMBER);
+  }
+
+  private Medicine makeMedicine(String registrationNumber, String name) {
+    return new Medicine(
+        registrationNumber,
+        name,
+        LocalDate.of(2030, 1, 1),
+        "(12)0000-0000",
+        BigDecimal.valueOf(10),
+        10,
+        new Manufacturer(1L, "Manufacturer"),
+        Set.of(new AdverseReaction(1L, "Strong reaction")));
+  }
+}
@@ -0,0 +1,150 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicineCatalogLoadServiceTest {
+  private static final String CATALOG = "registration_number,name\n1.4444.4444.333-1,medicine\n";
+
+  @Mock
+  private MedicineCatalogLoader medicineCatalogLoader;
+
+  private ExecutorService executor;
+
+  private MedicineCatalogLoadService medicineCatalogLoadService;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+    medicineCatalogLoadService = new MedicineCatalogLoadService(medicineCatalogLoader, executor);
+  }
+
+  @AfterEach
+  void tearDown() {
+    medicineCatalogLoadService.shutdown();
+  }
+
+  @Test
+  @DisplayName("start() should load a copy of the catalog in the background")
+  void startShouldLoadCopyOfTheCatalogInTheBackground() throws Exception {
+    // given
+    AtomicReference<String> loadedCatalog = new AtomicReference<>();
+    doAnswer(invocation -> {
+      loadedCatalog.set(Files.readString(invocation.getArgument(0, Path.class)));
+      invocation.getArgument(1, MedicineCatalogLoad.class).completed(1, 0, List.of());
+      return null;
+    }).when(medicineCatalogLoader).load(any(Path.class), any(MedicineCatalogLoad.class));
+
+    // when
+    MedicineCatalogLoad catalogLoad = medicineCatalogLoadService.start(toInputStream(CATALOG));
+
+    // then
+    awaitLoads();
+    assertThat(catalogLoad.getStatus()).isEqualTo(MedicineCatalogLoadStatus.COMPLETED);
+    assertThat(catalogLoad.getTotalBytes()).isEqualTo(CATALOG.length());
+    assertThat(loadedCatalog.get()).isEqualTo(CATALOG);
+    assertThat(medicineCatalogLoadService.findById(catalogLoad.getId())).isEqualTo(catalogLoad);
+  }
+
+  @Test
+  @DisplayName("start() should mark the catalog load as failed when the loader throws")
+  void startShouldMarkTheCatalogLoadAsFailedWhenTheLoaderThrows() throws Exception {
+    // given
+    doThrow(new IllegalStateException("extra data after last expected column"))
+        .when(medicineCatalogLoader).load(any(Path.class), any(MedicineCatalogLoad.class));
+
+    // when
+    MedicineCatalogLoad catalogLoad = medicineCatalogLoadService.start(toInputStream(CATALOG));
+
+    // then
+    awaitLoads();
+    assertThat(catalogLoad.getStatus()).isEqualTo(MedicineCatalogLoadStatus.FAILED);
+    assertThat(catalogLoad.getFailureMessage()).isEqualTo("extra data after last expected column");
+  }
+
+  @Test
+  @DisplayName("start() should mark the catalog load as failed when the loader throws an error")
+  void startShouldMarkTheCatalogLoadAsFailedWhenTheLoaderThrowsAnError() throws Exception {
+    // given
+    doThrow(new OutOfMemoryError("Java heap space"))
+        .when(medicineCatalogLoader).load(any(Path.class), any(MedicineCatalogLoad.class));
+
+    // when
+    MedicineCatalogLoad catalogLoad = medicineCatalogLoadService.start(toInputStream(CATALOG));
+
+    // then
+    awaitLoads();
+    assertThat(catalogLoad.getStatus()).isEqualTo(MedicineCatalogLoadStatus.FAILED);
+    assertThat(catalogLoad.getFailureMessage()).isEqualTo("Java heap space");
+  }
+
+  @Test
+  @DisplayName("start() should delete the copy of the catalog when the load cannot be scheduled")
+  void startShouldDeleteTheCopyOfTheCatalogWhenTheLoadCannotBeScheduled() throws Exception {
+    // given
+    executor.shutdown();
+    long numberOfCatalogCopies = countCatalogCopies();
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineCatalogLoadService.start(toInputStream(CATALOG)))
+        .isInstanceOf(RejectedExecutionException.class);
+    assertThat(countCatalogCopies()).isEqualTo(numberOfCatalogCopies);
+  }
+
+  @Test
+  @DisplayName("findById() should throw when given non-existent id")
+  void findByIdShouldThrowWhenGivenNonExistentId() {
+    // given
+    UUID id = UUID.randomUUID();
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineCatalogLoadService.findById(id))
+        .isInstanceOf(ResourceNotFoundException.class)
+        .hasMessage(String.format("Catalog load with id %s not found", id));
+  }
+
+  private void awaitLoads() throws InterruptedException {
+    executor.shutdown();
+    assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  private long countCatalogCopies() throws IOException {
+    try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+      return files.filter(file -> file.getFileName().toString().startsWith("medicine-catalog-")).count();
+    }
+  }
+
+  private ByteArrayInputStream toInputStream(String catalog) {
+    return new ByteArrayInputStream(catalog.getBytes(StandardCharsets.UTF_8));
+  }
+}
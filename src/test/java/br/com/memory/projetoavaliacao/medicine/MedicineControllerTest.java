@@ -2,20 +2,32 @@ package br.com.memory.projetoavaliacao.medicine;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -26,16 +38,23 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
 import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
 import br.com.memory.projetoavaliacao.shared.exception.ErrorResponse;
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceAlreadyExistsException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+import br.com.memory.projetoavaliacao.shared.pagination.CursorPage;
+import br.com.memory.projetoavaliacao.shared.pagination.SliceResponse;
 
 @WebMvcTest(MedicineController.class)
 public class MedicineControllerTest {
@@ -48,21 +67,38 @@ public class MedicineControllerTest {
   @MockBean
   private MedicineService medicineService;
 
+  @MockBean
+  private MedicineImporter medicineImporter;
+
+  @MockBean
+  private MedicineCatalogLoadService medicineCatalogLoadService;
+
+  @MockBean
+  private MedicineSynchronizer medicineSynchronizer;
+
+  @MockBean
+  private MedicineExporter medicineExporter;
+
   @Test
   @DisplayName("GET /medicines should return 200 and paged list of medicines when given filter and pagination")
   void getMedicinesShouldReturn200AndPagedListOfMedicinesWhenGivenFilterAndPagination() throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<Medicine> medicines = List.of(makeMedicine(1L, 1L));
-    Page<Medicine> pagedMedicines = new PageImpl<>(
+    List<MedicineView> medicines = List.of(MedicineView.of(makeMedicine(1L, 1L)));
+    Page<MedicineView> pagedMedicines = new PageImpl<>(
         medicines,
         pageable,
         medicines.size());
 
+    Page<MedicineJson> pagedJson = new PageImpl<>(
+        List.of(toJson(medicines.get(0))),
+        pageable,
+        medicines.size());
+
     String registrationNumberFilter = "1.";
     String nameFilter = "med";
     when(medicineService.findAllBy(registrationNumberFilter, nameFilter, pageable))
-        .thenReturn(pagedMedicines);
+        .thenReturn(pagedJson);
 
     // when
     // then
@@ -81,14 +117,19 @@ public class MedicineControllerTest {
   void getMedicinesShouldReturn200AndPagedListOfMedicinesWhenNotGivenFilterAndPagination() throws Exception {
     // given
     Pageable pageable = PageRequest.of(0, 10);
-    List<Medicine> medicines = List.of(makeMedicine(1L, 1L));
-    Page<Medicine> pagedMedicines = new PageImpl<>(
+    List<MedicineView> medicines = List.of(MedicineView.of(makeMedicine(1L, 1L)));
+    Page<MedicineView> pagedMedicines = new PageImpl<>(
         medicines,
         pageable,
         medicines.size());
 
+    Page<MedicineJson> pagedJson = new PageImpl<>(
+        List.of(toJson(medicines.get(0))),
+        pageable,
+        medicines.size());
+
     when(medicineService.findAllBy(eq(null), eq(null), any(Pageable.class)))
-        .thenReturn(pagedMedicines);
+        .thenReturn(pagedJson);
 
     // when
     // then
@@ -98,6 +139,115 @@ public class MedicineControllerTest {
         .andExpect(content().string(expected));
   }
 
+  @Test
+  @DisplayName("GET /medicines should return 200 and sliced list of medicines when given count=false")
+  void getMedicinesShouldReturn200AndSlicedListOfMedicinesWhenGivenCountFalse() throws Exception {
+    // given
+    Pageable pageable = PageRequest.of(0, 1);
+    List<MedicineView> medicines = List.of(MedicineView.of(makeMedicine(1L, 1L)));
+    Slice<MedicineView> slicedMedicines = new SliceImpl<>(medicines, pageable, true);
+
+    Slice<MedicineJson> slicedJson = new SliceImpl<>(List.of(toJson(medicines.get(0))), pageable, true);
+
+    when(medicineService.findSliceBy(null, "med", pageable))
+        .thenReturn(slicedJson);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(SliceResponse.of(slicedMedicines));
+    mockMvc.perform(get("/medicines")
+        .param("name", "med")
+        .param("count", "false")
+        .param("page", "0")
+        .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines should return 200 and first cursor page of medicines when given an empty cursor")
+  void getMedicinesShouldReturn200AndFirstCursorPageOfMedicinesWhenGivenEmptyCursor() throws Exception {
+    // given
+    MedicineView medicine = MedicineView.of(makeMedicine(1L, 1L));
+    MedicineCursor firstCursor = MedicineCursor.first(MedicineOrder.NAME);
+    CursorPage<MedicineView> cursorPage = new CursorPage<>(
+        List.of(medicine),
+        firstCursor.after(medicine).encode());
+
+    CursorPage<MedicineJson> cursorJsonPage = new CursorPage<>(
+        List.of(toJson(medicine)),
+        cursorPage.getNextCursor());
+
+    when(medicineService.findAllAfter(null, "med", firstCursor, 1))
+        .thenReturn(cursorJsonPage);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(cursorPage);
+    mockMvc.perform(get("/medicines")
+        .param("name", "med")
+        .param("cursor", "")
+        .param("orderBy", "NAME")
+        .param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines should return 200 and next cursor page of medicines when given a cursor")
+  void getMedicinesShouldReturn200AndNextCursorPageOfMedicinesWhenGivenCursor() throws Exception {
+    // given
+    MedicineCursor cursor = new MedicineCursor(MedicineOrder.REGISTRATION_NUMBER, "medicine", "1.4444.4444.333-0");
+    MedicineView medicine = MedicineView.of(makeMedicine(1L, 1L));
+    CursorPage<MedicineView> cursorPage = new CursorPage<>(List.of(medicine), null);
+
+    when(medicineService.findAllAfter(null, null, cursor, 10))
+        .thenReturn(new CursorPage<>(List.of(toJson(medicine)), null));
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(cursorPage);
+    mockMvc.perform(get("/medicines")
+        .param("cursor", cursor.encode()))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines should return 200 and cursor page of medicines when given a cursor and count=false")
+  void getMedicinesShouldReturn200AndCursorPageOfMedicinesWhenGivenCursorAndCountFalse() throws Exception {
+    // given
+    MedicineView medicine = MedicineView.of(makeMedicine(1L, 1L));
+    CursorPage<MedicineView> cursorPage = new CursorPage<>(List.of(medicine), null);
+
+    when(medicineService.findAllAfter(null, null, MedicineCursor.first(MedicineOrder.REGISTRATION_NUMBER), 10))
+        .thenReturn(new CursorPage<>(List.of(toJson(medicine)), null));
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(cursorPage);
+    mockMvc.perform(get("/medicines")
+        .param("cursor", "")
+        .param("count", "false"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines should return 400 when given an invalid cursor")
+  void getMedicinesShouldReturn400WhenGivenInvalidCursor() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The cursor parameter is invalid");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(get("/medicines")
+        .param("cursor", "not a cursor"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
   @Test
   @DisplayName("POST /medicines should return 201 and medicine when given valid input")
   void postMedicinesShouldReturn201AndMedicineWhenGivenValidInput() throws Exception {
@@ -127,6 +277,195 @@ public class MedicineControllerTest {
         .andExpect(content().string(expected));
   }
 
+  @Test
+  @DisplayName("GET /medicines/export should return 200 and stream the medicines in the given format")
+  void getMedicinesExportShouldReturn200AndStreamTheMedicinesInTheGivenFormat() throws Exception {
+    // given
+    doAnswer(invocation -> {
+      invocation.getArgument(1, OutputStream.class).write("registration_number\n".getBytes(StandardCharsets.UTF_8));
+      return null;
+    }).when(medicineExporter).export(eq(MedicineExportFormat.CSV), any(OutputStream.class));
+
+    // when
+    MvcResult result = mockMvc.perform(get("/medicines/export").param("format", "CSV"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    // then
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", "text/csv"))
+        .andExpect(content().string("registration_number\n"));
+  }
+
+  @Test
+  @DisplayName("GET /medicines/{registrationNumber} should return 200, medicine and ETag when given existent registration number")
+  void getMedicineShouldReturn200MedicineAndETagWhenGivenExistentRegistrationNumber() throws Exception {
+    // given
+    Medicine medicine = makeMedicine(1L, 1L);
+    MedicineView medicineView = MedicineView.of(medicine);
+    CachedMedicine cachedMedicine = new CachedMedicine(medicineView, toJson(medicineView), "entity-tag");
+    when(medicineService.findByRegistrationNumber(medicine.getRegistrationNumber())).thenReturn(cachedMedicine);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(medicineView);
+    mockMvc.perform(get("/medicines/{registrationNumber}", medicine.getRegistrationNumber()))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"entity-tag\""))
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines/{registrationNumber} should return 304 when given the current ETag")
+  void getMedicineShouldReturn304WhenGivenTheCurrentETag() throws Exception {
+    // given
+    Medicine medicine = makeMedicine(1L, 1L);
+    MedicineView medicineView = MedicineView.of(medicine);
+    CachedMedicine cachedMedicine = new CachedMedicine(medicineView, toJson(medicineView), "entity-tag");
+    when(medicineService.findByRegistrationNumber(medicine.getRegistrationNumber())).thenReturn(cachedMedicine);
+
+    // when
+    // then
+    mockMvc.perform(get("/medicines/{registrationNumber}", medicine.getRegistrationNumber())
+        .header("If-None-Match", "\"entity-tag\""))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  @DisplayName("GET /medicines/{registrationNumber} should return 404 when given non-existent registration number")
+  void getMedicineShouldReturn404WhenGivenNonExistentRegistrationNumber() throws Exception {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    when(medicineService.findByRegistrationNumber(registrationNumber)).thenThrow(ResourceNotFoundException.class);
+
+    // when
+    // then
+    mockMvc.perform(get("/medicines/{registrationNumber}", registrationNumber))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("POST /medicines/lookup should return 200 and found and missing medicines when given registration numbers")
+  void postMedicinesLookupShouldReturn200AndFoundAndMissingMedicinesWhenGivenRegistrationNumbers() throws Exception {
+    // given
+    Medicine medicine = makeMedicine(1L, 1L);
+    List<String> registrationNumbers = List.of(medicine.getRegistrationNumber(), "1.4444.4444.333-9");
+    MedicineView medicineView = MedicineView.of(medicine);
+    MedicineLookupResult result = new MedicineLookupResult(
+        List.of(toJson(medicineView)),
+        List.of("1.4444.4444.333-9"));
+    when(medicineService.findAllByRegistrationNumber(registrationNumbers)).thenReturn(result);
+
+    // when
+    // then
+    String expected = "{\"medicines\":[" + objectMapper.writeValueAsString(medicineView) + "],"
+        + "\"missingRegistrationNumbers\":[\"1.4444.4444.333-9\"]}";
+    mockMvc.perform(post("/medicines/lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineLookupDto(registrationNumbers))))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/lookup should return 400 when given an empty list of registration numbers")
+  void postMedicinesLookupShouldReturn400WhenGivenAnEmptyListOfRegistrationNumbers() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The registrationNumbers field must not be null nor empty");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/medicines/lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineLookupDto(List.of()))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/bulk should return 200 and import report when given newline-delimited medicines")
+  void postMedicinesBulkShouldReturn200AndImportReportWhenGivenNewlineDelimitedMedicines() throws Exception {
+    // given
+    MedicineImportReport report = new MedicineImportReport(1, List.of(
+        new MedicineImportError(1, "1.4444.4444.333-1", "The name field must not be blank")));
+    when(medicineImporter.importAll(any(InputStream.class), eq(100))).thenReturn(report);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(report);
+    mockMvc.perform(post("/medicines/bulk")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .param("chunkSize", "100")
+        .content("{}\n{}\n"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/sync should return 200 and sync report when given newline-delimited medicines")
+  void postMedicinesSyncShouldReturn200AndSyncReportWhenGivenNewlineDelimitedMedicines() throws Exception {
+    // given
+    MedicineSyncReport report = new MedicineSyncReport(1, 2, 3, 4, Map.of("diff", 5L), List.of());
+    when(medicineSynchronizer.sync(any(InputStream.class))).thenReturn(report);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(report);
+    mockMvc.perform(post("/medicines/sync")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .content("{}\n"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/catalog-loads should return 202 and catalog load when given a CSV catalog")
+  void postMedicinesCatalogLoadsShouldReturn202AndCatalogLoadWhenGivenCsvCatalog() throws Exception {
+    // given
+    MedicineCatalogLoad catalogLoad = new MedicineCatalogLoad(UUID.randomUUID(), 10);
+    when(medicineCatalogLoadService.start(any(InputStream.class))).thenReturn(catalogLoad);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(catalogLoad);
+    mockMvc.perform(post("/medicines/catalog-loads")
+        .contentType("text/csv")
+        .content("registration_number\n"))
+        .andExpect(status().isAccepted())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines/catalog-loads/{id} should return 200 and catalog load when given existent id")
+  void getMedicinesCatalogLoadsByIdShouldReturn200AndCatalogLoadWhenGivenExistentId() throws Exception {
+    // given
+    MedicineCatalogLoad catalogLoad = new MedicineCatalogLoad(UUID.randomUUID(), 10);
+    when(medicineCatalogLoadService.findById(catalogLoad.getId())).thenReturn(catalogLoad);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(catalogLoad);
+    mockMvc.perform(get("/medicines/catalog-loads/{id}", catalogLoad.getId()))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("GET /medicines/catalog-loads/{id} should return 404 when given non-existent id")
+  void getMedicinesCatalogLoadsByIdShouldReturn404WhenGivenNonExistentId() throws Exception {
+    // given
+    UUID id = UUID.randomUUID();
+    when(medicineCatalogLoadService.findById(id)).thenThrow(ResourceNotFoundException.class);
+
+    // when
+    // then
+    mockMvc.perform(get("/medicines/catalog-loads/{id}", id))
+        .andExpect(status().isNotFound());
+  }
+
   @Test
   @DisplayName("POST /medicines should return 400 when given null registration number")
   void postMedicinesShouldReturn400WhenGivenNullRegistrationNumber() throws Exception {
@@ -819,6 +1158,162 @@ public class MedicineControllerTest {
         .andExpect(status().isNotFound());
   }
 
+  @Test
+  @DisplayName("PATCH /medicines/{registrationNumber} should return 200 and patched medicine when given a merge patch")
+  void patchMedicinesShouldReturn200AndPatchedMedicineWhenGivenMergePatch() throws Exception {
+    // given
+    Medicine medicine = makeMedicine(1L, 1L);
+    String registrationNumber = medicine.getRegistrationNumber();
+    MedicinePatchDto medicinePatchDto = new MedicinePatchDto(
+        null, null, null, BigDecimal.valueOf(2), null, null, null);
+    when(medicineService.patch(registrationNumber, medicinePatchDto)).thenReturn(medicine);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(medicine);
+    mockMvc.perform(patch("/medicines/{registrationNumber}", registrationNumber)
+        .contentType("application/merge-patch+json")
+        .content("{\"price\": 2}"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("PATCH /medicines/{registrationNumber} should return 400 when given a null field")
+  void patchMedicinesShouldReturn400WhenGivenNullField() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The price field has an invalid type or format");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(patch("/medicines/{registrationNumber}", "1.4444.4444.333-1")
+        .contentType("application/merge-patch+json")
+        .content("{\"price\": null}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("PATCH /medicines/{registrationNumber} should return 400 when given an invalid phone number")
+  void patchMedicinesShouldReturn400WhenGivenInvalidPhoneNumber() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The customerServicePhone field has an invalid phone number format");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(patch("/medicines/{registrationNumber}", "1.4444.4444.333-1")
+        .contentType("application/merge-patch+json")
+        .content("{\"customerServicePhone\": \"123\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/{registrationNumber}/stock/adjust should return 200 and new stock when given a delta")
+  void postMedicineStockAdjustShouldReturn200AndNewStockWhenGivenDelta() throws Exception {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    MedicineStock stock = new MedicineStock(registrationNumber, 7);
+    when(medicineService.adjustStock(registrationNumber, -3)).thenReturn(stock);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(stock);
+    mockMvc.perform(post("/medicines/{registrationNumber}/stock/adjust", registrationNumber)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineStockAdjustmentDto(-3))))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/{registrationNumber}/stock/adjust should return 409 when there is not enough stock")
+  void postMedicineStockAdjustShouldReturn409WhenThereIsNotEnoughStock() throws Exception {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    when(medicineService.adjustStock(registrationNumber, -3)).thenThrow(InsufficientStockException.class);
+
+    // when
+    // then
+    mockMvc.perform(post("/medicines/{registrationNumber}/stock/adjust", registrationNumber)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineStockAdjustmentDto(-3))))
+        .andExpect(status().isConflict());
+  }
+
+  @Test
+  @DisplayName("POST /medicines/{registrationNumber}/stock/adjust should return 400 when given a null delta")
+  void postMedicineStockAdjustShouldReturn400WhenGivenNullDelta() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The delta field must not be null");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/medicines/{registrationNumber}/stock/adjust", "1.4444.4444.333-1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content("{}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+  }
+
+  @Test
+  @DisplayName("POST /medicines/{registrationNumber}/stock/adjust should return 400 when given a delta out of the stock range")
+  void postMedicineStockAdjustShouldReturn400WhenGivenDeltaOutOfTheStockRange() throws Exception {
+    // given
+    ErrorResponse errorResponse = new ErrorResponse(400, "The delta field must not be greater than 32767");
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(errorResponse);
+    mockMvc.perform(post("/medicines/{registrationNumber}/stock/adjust", "1.4444.4444.333-1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineStockAdjustmentDto(40000))))
+        .andExpect(status().isBadRequest())
+        .andExpect(content().string(expected));
+
+    verify(medicineService, never()).adjustStock("1.4444.4444.333-1", 40000);
+  }
+
+  @Test
+  @DisplayName("POST /medicines/{registrationNumber}/stock/adjust?deferred=true should return 202 and projected stock")
+  void postMedicineStockAdjustDeferredShouldReturn202AndProjectedStock() throws Exception {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    MedicineStock stock = new MedicineStock(registrationNumber, 7);
+    when(medicineService.deferStockAdjustment(registrationNumber, -3)).thenReturn(stock);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(stock);
+    mockMvc.perform(post("/medicines/{registrationNumber}/stock/adjust", registrationNumber)
+        .param("deferred", "true")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(new MedicineStockAdjustmentDto(-3))))
+        .andExpect(status().isAccepted())
+        .andExpect(content().string(expected));
+
+    verify(medicineService, never()).adjustStock(registrationNumber, -3);
+  }
+
+  @Test
+  @DisplayName("GET /medicines/{registrationNumber}/stock should return 200 and current stock")
+  void getMedicineStockShouldReturn200AndCurrentStock() throws Exception {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    MedicineStock stock = new MedicineStock(registrationNumber, 7);
+    when(medicineService.findStock(registrationNumber)).thenReturn(stock);
+
+    // when
+    // then
+    String expected = objectMapper.writeValueAsString(stock);
+    mockMvc.perform(get("/medicines/{registrationNumber}/stock", registrationNumber))
+        .andExpect(status().isOk())
+        .andExpect(content().string(expected));
+  }
+
   @Test
   @DisplayName("DELETE /medicines/{registrationNumber} should return 204 when given valid registration number")
   void deleteMedicineShouldReturn204WhenGivenValidRegistrationNumber() throws Exception {
@@ -864,6 +1359,10 @@ public class MedicineControllerTest {
         Set.of(new AdverseReaction(adverseReactionId, "Strong reaction")));
   }
 
+  private MedicineJson toJson(MedicineView medicine) throws JsonProcessingException {
+    return new MedicineJson(objectMapper.writeValueAsString(medicine));
+  }
+
   private void assertThatPostMethodReturns400(MedicineCreationDto medicineDto, String expectedMessage)
       throws Exception {
     String serializedMedicineDto = objectMapper.writeValueAsString(medicineDto);
@@ -0,0 +1,157 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.memory.projetoavaliacao.ApplicationConfig;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+
+@DataJpaTest
+public class MedicineExporterTest {
+  @Autowired
+  private MedicineRepository medicineRepository;
+
+  @Autowired
+  private AdverseReactionRepository adverseReactionRepository;
+
+  @Autowired
+  private ManufacturerRepository manufacturerRepository;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private MedicineExporter medicineExporter;
+
+  private Manufacturer manufacturer;
+
+  private AdverseReaction firstReaction;
+
+  private AdverseReaction secondReaction;
+
+  @BeforeEach
+  void setUp() {
+    medicineRepository.deleteAll();
+    adverseReactionRepository.deleteAll();
+    manufacturerRepository.deleteAll();
+
+    Jackson2ObjectMapperBuilder objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+    new ApplicationConfig().jsonCustomizer().customize(objectMapperBuilder);
+    medicineExporter = new MedicineExporter(dataSource, transactionManager, objectMapperBuilder.build());
+
+    manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    firstReaction = adverseReactionRepository.save(new AdverseReaction("first reaction"));
+    secondReaction = adverseReactionRepository.save(new AdverseReaction("second reaction"));
+    medicineRepository.save(makeMedicine("1.4444.4444.333-2", "second, medicine", Set.of(secondReaction)));
+    medicineRepository.saveAndFlush(makeMedicine("1.4444.4444.333-1", "first medicine", Set.of(firstReaction, secondReaction)));
+  }
+
+  @Test
+  @DisplayName("export() should stream one JSON line per medicine ordered by registration number")
+  void exportShouldStreamOneJsonLinePerMedicineOrderedByRegistrationNumber() throws Exception {
+    // given
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    medicineExporter.export(MedicineExportFormat.NDJSON, outputStream);
+
+    // then
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(String.join("\n",
+        "{\"registrationNumber\":\"1.4444.4444.333-1\",\"name\":\"first medicine\",\"expirationDate\":\"01/01/2030\","
+            + "\"customerServicePhone\":\"(11)2222-3333\",\"price\":10.00,\"amountOfPills\":20,"
+            + "\"manufacturerId\":" + manufacturer.getId() + ","
+            + "\"adverseReactionIds\":[" + firstReaction.getId() + "," + secondReaction.getId() + "]}",
+        "{\"registrationNumber\":\"1.4444.4444.333-2\",\"name\":\"second, medicine\",\"expirationDate\":\"01/01/2030\","
+            + "\"customerServicePhone\":\"(11)2222-3333\",\"price\":10.00,\"amountOfPills\":20,"
+            + "\"manufacturerId\":" + manufacturer.getId() + ","
+            + "\"adverseReactionIds\":[" + secondReaction.getId() + "]}"));
+  }
+
+  @Test
+  @DisplayName("export() should stream a CSV row per medicine after the header")
+  void exportShouldStreamCsvRowPerMedicineAfterTheHeader() throws Exception {
+    // given
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    medicineExporter.export(MedicineExportFormat.CSV, outputStream);
+
+    // then
+    assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+        "registration_number,name,expiration_date,customer_service_phone,price,amount_of_pills,manufacturer_id,adverse_reaction_ids\n"
+            + "1.4444.4444.333-1,first medicine,01/01/2030,(11)2222-3333,10.00,20," + manufacturer.getId() + ","
+            + firstReaction.getId() + ";" + secondReaction.getId() + "\n"
+            + "1.4444.4444.333-2,\"second, medicine\",01/01/2030,(11)2222-3333,10.00,20," + manufacturer.getId() + ","
+            + secondReaction.getId() + "\n");
+  }
+
+  @Test
+  @DisplayName("export() should stream the medicines as an Arrow record batch")
+  void exportShouldStreamTheMedicinesAsArrowRecordBatch() throws Exception {
+    // given
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    medicineExporter.export(MedicineExportFormat.ARROW, outputStream);
+
+    // then
+    try (BufferAllocator allocator = new RootAllocator();
+        ArrowStreamReader reader = new ArrowStreamReader(
+            new ByteArrayInputStream(outputStream.toByteArray()),
+            allocator)) {
+      assertThat(reader.loadNextBatch()).isTrue();
+      VectorSchemaRoot root = reader.getVectorSchemaRoot();
+
+      assertThat(root.getRowCount()).isEqualTo(2);
+      assertThat(root.getVector("registrationNumber").getObject(0).toString()).isEqualTo("1.4444.4444.333-1");
+      assertThat(root.getVector("name").getObject(1).toString()).isEqualTo("second, medicine");
+      assertThat(((DateDayVector) root.getVector("expirationDate")).get(0))
+          .isEqualTo((int) LocalDate.of(2030, 1, 1).toEpochDay());
+      assertThat(root.getVector("price").getObject(0)).isEqualTo(new BigDecimal("10.00"));
+      assertThat(root.getVector("amountOfPills").getObject(0)).isEqualTo(20);
+      assertThat(root.getVector("manufacturerId").getObject(0)).isEqualTo(manufacturer.getId());
+      assertThat(root.getVector("adverseReactionIds").getObject(0))
+          .isEqualTo(List.of(firstReaction.getId(), secondReaction.getId()));
+      assertThat(reader.loadNextBatch()).isFalse();
+    }
+  }
+
+  private Medicine makeMedicine(String registrationNumber, String name, Set<AdverseReaction> adverseReactions) {
+    return new Medicine(
+        registrationNumber,
+        name,
+        LocalDate.of(2030, 1, 1),
+        "(11)2222-3333",
+        BigDecimal.TEN,
+        20,
+        manufacturer,
+        adverseReactions);
+  }
+}
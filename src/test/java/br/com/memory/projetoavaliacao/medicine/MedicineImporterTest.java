@@ -0,0 +1,199 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import br.com.memory.projetoavaliacao.ApplicationConfig;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicineImporterTest {
+  @Mock
+  private MedicineRepository medicineRepository;
+
+  @Mock
+  private ManufacturerCache manufacturerCache;
+
+  @Mock
+  private AdverseReactionCache adverseReactionCache;
+
+  private MedicineImporter medicineImporter;
+
+  private final Manufacturer manufacturer = new Manufacturer(1L, "manufacturer");
+
+  private final AdverseReaction adverseReaction = new AdverseReaction(1L, "reaction");
+
+  @BeforeEach
+  void setUp() {
+    Jackson2ObjectMapperBuilder objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+    new ApplicationConfig().jsonCustomizer().customize(objectMapperBuilder);
+
+    medicineImporter = new MedicineImporter(
+        objectMapperBuilder.build(),
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        medicineRepository,
+        manufacturerCache,
+        adverseReactionCache,
+        TransactionOperations.withoutTransaction());
+  }
+
+  @Test
+  @DisplayName("importAll() should insert a JSON array of medicines in chunks of the given size")
+  void importAllShouldInsertJsonArrayOfMedicinesInChunksOfTheGivenSize() throws Exception {
+    // given
+    InputStream body = toInputStream("["
+        + makeRow("1.4444.4444.333-1") + ","
+        + makeRow("1.4444.4444.333-2") + ","
+        + makeRow("1.4444.4444.333-3") + "]");
+    when(medicineRepository.findRegistrationNumbersIn(anySet())).thenReturn(Set.of());
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(adverseReaction));
+
+    // when
+    MedicineImportReport report = medicineImporter.importAll(body, 2);
+
+    // then
+    assertThat(report.getImported()).isEqualTo(3);
+    assertThat(report.getErrors()).isEmpty();
+    verify(medicineRepository, times(2)).insertAll(anyList());
+  }
+
+  @Test
+  @DisplayName("importAll() should insert newline-delimited medicines")
+  void importAllShouldInsertNewlineDelimitedMedicines() throws Exception {
+    // given
+    InputStream body = toInputStream(makeRow("1.4444.4444.333-1") + "\n" + makeRow("1.4444.4444.333-2") + "\n");
+    when(medicineRepository.findRegistrationNumbersIn(anySet())).thenReturn(Set.of());
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(adverseReaction));
+
+    // when
+    MedicineImportReport report = medicineImporter.importAll(body, 500);
+
+    // then
+    assertThat(report.getImported()).isEqualTo(2);
+    assertThat(report.getErrors()).isEmpty();
+    verify(medicineRepository, times(1)).insertAll(anyList());
+  }
+
+  @Test
+  @DisplayName("importAll() should report invalid rows and import the remaining ones")
+  void importAllShouldReportInvalidRowsAndImportTheRemainingOnes() throws Exception {
+    // given
+    InputStream body = toInputStream(String.join("\n",
+        makeRow("1.4444.4444.333-1"),
+        makeRow("invalid"),
+        makeRow("1.4444.4444.333-2"),
+        makeRow("1.4444.4444.333-1"),
+        makeRow("1.4444.4444.333-3").replace("\"manufacturerId\":1", "\"manufacturerId\":2"),
+        makeRow("1.4444.4444.333-4").replace("[1]", "[1,2]"),
+        makeRow("1.4444.4444.333-5").replace("01/01/2030", "2030-01-01")));
+    when(medicineRepository.findRegistrationNumbersIn(anySet())).thenReturn(Set.of("1.4444.4444.333-2"));
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(manufacturer));
+    when(manufacturerCache.findById(2L)).thenReturn(Optional.empty());
+    when(adverseReactionCache.findAllById(Set.of(1L, 2L))).thenReturn(List.of(adverseReaction));
+
+    // when
+    MedicineImportReport report = medicineImporter.importAll(body, 500);
+
+    // then
+    assertThat(report.getImported()).isEqualTo(1);
+    assertThat(report.getErrors()).containsExactly(
+        new MedicineImportError(1, "invalid", "The registrationNumber field has an invalid ANVISA registration number"),
+        new MedicineImportError(2, "1.4444.4444.333-2", "A medicine with registration number 1.4444.4444.333-2 already exists"),
+        new MedicineImportError(3, "1.4444.4444.333-1", "A medicine with registration number 1.4444.4444.333-1 already exists"),
+        new MedicineImportError(4, "1.4444.4444.333-3", "Manufacturer with id 2 not found"),
+        new MedicineImportError(5, "1.4444.4444.333-4", "1 adverse reactions were not found"),
+        new MedicineImportError(6, null, "The expirationDate field has an invalid date format"));
+  }
+
+  @Test
+  @DisplayName("importAll() should insert the rows of a chunk one by one when the chunk violates a constraint")
+  void importAllShouldInsertRowsOfChunkOneByOneWhenTheChunkViolatesConstraint() throws Exception {
+    // given
+    InputStream body = toInputStream(makeRow("1.4444.4444.333-1") + "\n" + makeRow("1.4444.4444.333-2"));
+    DataIntegrityViolationException duplicateKey = new DataIntegrityViolationException(
+        "duplicate key",
+        new SQLException("duplicate key", "23505"));
+    when(medicineRepository.findRegistrationNumbersIn(anySet())).thenReturn(Set.of());
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(adverseReaction));
+    doThrow(duplicateKey).when(medicineRepository).insertAll(anyList());
+    when(medicineRepository.insert(any(Medicine.class)))
+        .thenThrow(duplicateKey)
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // when
+    MedicineImportReport report = medicineImporter.importAll(body, 500);
+
+    // then
+    assertThat(report.getImported()).isEqualTo(1);
+    assertThat(report.getErrors()).containsExactly(new MedicineImportError(
+        0,
+        "1.4444.4444.333-1",
+        "A medicine with registration number 1.4444.4444.333-1 already exists"));
+  }
+
+  @Test
+  @DisplayName("importAll() should stop reading at the first malformed row")
+  void importAllShouldStopReadingAtTheFirstMalformedRow() throws Exception {
+    // given
+    InputStream body = toInputStream(makeRow("1.4444.4444.333-1") + "\n{\"name\": ]\n" + makeRow("1.4444.4444.333-2"));
+    when(medicineRepository.findRegistrationNumbersIn(anySet())).thenReturn(Set.of());
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(adverseReaction));
+
+    // when
+    MedicineImportReport report = medicineImporter.importAll(body, 500);
+
+    // then
+    assertThat(report.getImported()).isEqualTo(1);
+    assertThat(report.getErrors()).containsExactly(new MedicineImportError(1, null, "The row is not valid JSON"));
+    verify(medicineRepository, never()).insert(any(Medicine.class));
+  }
+
+  private String makeRow(String registrationNumber) {
+    return "{\"registrationNumber\":\"" + registrationNumber + "\","
+        + "\"name\":\"medicine\","
+        + "\"expirationDate\":\"01/01/2030\","
+        + "\"customerServicePhone\":\"(11)2222-3333\","
+        + "\"price\":10,"
+        + "\"amountOfPills\":20,"
+        + "\"manufacturerId\":1,"
+        + "\"adverseReactionIds\":[1]}";
+  }
+
+  private InputStream toInputStream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
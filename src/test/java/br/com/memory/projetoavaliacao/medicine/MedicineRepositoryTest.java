@@ -6,15 +6,22 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
@@ -32,6 +39,9 @@ public class MedicineRepositoryTest {
   @Autowired
   private ManufacturerRepository manufacturerRepository;
 
+  @Autowired
+  private TestEntityManager testEntityManager;
+
   @BeforeEach
   void cleanUp() {
     medicineRepository.deleteAll();
@@ -109,7 +119,7 @@ public class MedicineRepositoryTest {
     medicineRepository.saveAll(medicines);
 
     // when
-    Page<Medicine> fetchedMedicines = medicineRepository.findAllBy(null, null, null);
+    Page<MedicineView> fetchedMedicines = medicineRepository.findAllBy(null, null, Pageable.unpaged());
 
     // then
     assertThat(fetchedMedicines.getTotalElements()).isEqualTo(medicines.size());
@@ -145,7 +155,7 @@ public class MedicineRepositoryTest {
 
     // when
     Pageable firstPage = PageRequest.of(0, 1);
-    Page<Medicine> pagedMedicines = medicineRepository.findAllBy(null, null, firstPage);
+    Page<MedicineView> pagedMedicines = medicineRepository.findAllBy(null, null, firstPage);
 
     // then
     assertThat(pagedMedicines.getTotalElements()).isEqualTo(medicines.size());
@@ -183,7 +193,7 @@ public class MedicineRepositoryTest {
 
     // when
     String registrationNumberFilter = "0.0000.0000.000-0";
-    Page<Medicine> filteredMedicines = medicineRepository.findAllBy(registrationNumberFilter, null, null);
+    Page<MedicineView> filteredMedicines = medicineRepository.findAllBy(registrationNumberFilter, null, Pageable.unpaged());
 
     // then
     List<String> expectedRegistrationNumbers = List.of(registrationNumberFilter);
@@ -223,7 +233,7 @@ public class MedicineRepositoryTest {
 
     // when
     String nameFilter = "MEDICINE 1";
-    Page<Medicine> filteredMedicines = medicineRepository.findAllBy(null, nameFilter, null);
+    Page<MedicineView> filteredMedicines = medicineRepository.findAllBy(null, nameFilter, Pageable.unpaged());
 
     // then
     List<String> expectedNames = List.of("medicine 1");
@@ -274,7 +284,7 @@ public class MedicineRepositoryTest {
     String nameFilter = "weak";
     String registrationNumberFilter = "0.0000.0000";
     Pageable firstPage = PageRequest.of(0, 1);
-    Page<Medicine> fetchedMedicines = medicineRepository.findAllBy(registrationNumberFilter, nameFilter, firstPage);
+    Page<MedicineView> fetchedMedicines = medicineRepository.findAllBy(registrationNumberFilter, nameFilter, firstPage);
 
     // then
     List<String> expectedFilteredNames = List.of("Weak medicine", "Very weak medicine");
@@ -284,4 +294,265 @@ public class MedicineRepositoryTest {
       assertThat(medicine.getName()).isIn(expectedFilteredNames);
     });
   }
+
+  @Test
+  @DisplayName("findSliceAfter() should return medicines after the given registration number in order")
+  void findSliceAfterShouldReturnMedicinesAfterTheGivenRegistrationNumberInOrder() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(
+        new Manufacturer("manufacturer"));
+    medicineRepository.saveAll(List.of(
+        makeMedicine("0.0000.0000.000-2", "medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-0", "medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-1", "medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-3", "medicine", manufacturer)));
+
+    // when
+    MedicineCursor cursor = new MedicineCursor(MedicineOrder.REGISTRATION_NUMBER, "", "0.0000.0000.000-0");
+    Slice<MedicineView> fetchedMedicines = medicineRepository.findSliceAfter(null, null, cursor, 2);
+
+    // then
+    List<MedicineView> content = fetchedMedicines.getContent();
+    assertThat(fetchedMedicines.hasNext()).isTrue();
+    assertThat(content.size()).isEqualTo(2);
+    assertThat(content.get(0).getRegistrationNumber()).isEqualTo("0.0000.0000.000-1");
+    assertThat(content.get(1).getRegistrationNumber()).isEqualTo("0.0000.0000.000-2");
+  }
+
+  @Test
+  @DisplayName("findSliceAfter() should return medicines after the given name and registration number in order")
+  void findSliceAfterShouldReturnMedicinesAfterTheGivenNameAndRegistrationNumberInOrder() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(
+        new Manufacturer("manufacturer"));
+    medicineRepository.saveAll(List.of(
+        makeMedicine("0.0000.0000.000-0", "b medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-1", "a medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-2", "a medicine", manufacturer),
+        makeMedicine("0.0000.0000.000-3", "c medicine", manufacturer)));
+
+    // when
+    MedicineCursor cursor = new MedicineCursor(MedicineOrder.NAME, "a medicine", "0.0000.0000.000-1");
+    Slice<MedicineView> fetchedMedicines = medicineRepository.findSliceAfter(null, null, cursor, 2);
+
+    // then
+    List<MedicineView> content = fetchedMedicines.getContent();
+    assertThat(fetchedMedicines.hasNext()).isTrue();
+    assertThat(content.size()).isEqualTo(2);
+    assertThat(content.get(0).getRegistrationNumber()).isEqualTo("0.0000.0000.000-2");
+    assertThat(content.get(1).getRegistrationNumber()).isEqualTo("0.0000.0000.000-0");
+  }
+
+  @Test
+  @DisplayName("findAllBy() should load a page of medicines with their relations in a fixed number of statements")
+  void findAllByShouldLoadPageOfMedicinesWithTheirRelationsInFixedNumberOfStatements() {
+    // given
+    List<Manufacturer> manufacturers = manufacturerRepository.saveAll(List.of(
+        new Manufacturer("manufacturer 1"),
+        new Manufacturer("manufacturer 2")));
+    List<AdverseReaction> adverseReactions = adverseReactionRepository.saveAll(List.of(
+        new AdverseReaction("reaction 1"),
+        new AdverseReaction("reaction 2"),
+        new AdverseReaction("reaction 3")));
+    medicineRepository.saveAll(IntStream.range(0, 25)
+        .mapToObj(i -> new Medicine(
+            String.format("0.0000.0000.%03d-0", i),
+            "medicine " + i,
+            LocalDate.now(),
+            "(00)0000-0000",
+            BigDecimal.valueOf(1),
+            1,
+            manufacturers.get(i % manufacturers.size()),
+            Set.copyOf(adverseReactions)))
+        .collect(Collectors.toList()));
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    Statistics statistics = testEntityManager.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    // when
+    Page<MedicineView> pagedMedicines = medicineRepository.findAllBy(null, null, PageRequest.of(0, 20));
+    pagedMedicines.forEach(medicine -> {
+      medicine.getManufacturer().getName();
+      medicine.getAdverseReactions().size();
+    });
+
+    // then
+    long pageQueryCountQueryAndReactionsBatch = 3;
+    assertThat(pagedMedicines.getNumberOfElements()).isEqualTo(20);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(pageQueryCountQueryAndReactionsBatch);
+  }
+
+  @Test
+  @DisplayName("findAllIn() should load the given medicines with their relations in a fixed number of statements")
+  void findAllInShouldLoadTheGivenMedicinesWithTheirRelationsInFixedNumberOfStatements() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    List<AdverseReaction> adverseReactions = adverseReactionRepository.saveAll(List.of(
+        new AdverseReaction("reaction 1"),
+        new AdverseReaction("reaction 2")));
+    medicineRepository.saveAll(IntStream.range(0, 30)
+        .mapToObj(i -> new Medicine(
+            String.format("0.0000.0000.%03d-0", i),
+            "medicine " + i,
+            LocalDate.now(),
+            "(00)0000-0000",
+            BigDecimal.valueOf(1),
+            1,
+            manufacturer,
+            Set.copyOf(adverseReactions)))
+        .collect(Collectors.toList()));
+    testEntityManager.flush();
+    testEntityManager.clear();
+
+    Set<String> registrationNumbers = IntStream.range(0, 20)
+        .mapToObj(i -> String.format("0.0000.0000.%03d-0", i))
+        .collect(Collectors.toSet());
+    Statistics statistics = testEntityManager.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    // when
+    List<MedicineView> medicines = medicineRepository.findAllIn(registrationNumbers).stream()
+        .map(MedicineView::of)
+        .collect(Collectors.toList());
+
+    // then
+    long medicineQueryAndReactionsBatch = 2;
+    assertThat(medicines.size()).isEqualTo(20);
+    assertThat(medicines.get(0).getAdverseReactions().size()).isEqualTo(2);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(medicineQueryAndReactionsBatch);
+  }
+
+  @Test
+  @DisplayName("insert() should write the adverse reactions of a medicine in a single batched statement")
+  void insertShouldWriteAdverseReactionsOfMedicineInSingleBatchedStatement() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    List<AdverseReaction> adverseReactions = adverseReactionRepository.saveAll(IntStream.range(0, 20)
+        .mapToObj(i -> new AdverseReaction("reaction " + i))
+        .collect(Collectors.toList()));
+    testEntityManager.flush();
+
+    Statistics statistics = testEntityManager.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    // when
+    medicineRepository.insert(new Medicine(
+        "0.0000.0000.000-0",
+        "medicine",
+        LocalDate.now(),
+        "(00)0000-0000",
+        BigDecimal.valueOf(1),
+        1,
+        manufacturer,
+        Set.copyOf(adverseReactions)));
+
+    // then
+    long medicineInsertAndJoinTableBatch = 2;
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(medicineInsertAndJoinTableBatch);
+  }
+
+  @Test
+  @DisplayName("repriceAllByManufacturerId() should reprice only the medicines of the manufacturer rounded to cents")
+  void repriceAllByManufacturerIdShouldRepriceOnlyTheMedicinesOfTheManufacturerRoundedToCents() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    Manufacturer otherManufacturer = manufacturerRepository.save(new Manufacturer("other manufacturer"));
+    medicineRepository.save(makeMedicine("0.0000.0000.000-0", "medicine", manufacturer));
+    medicineRepository.save(makeMedicine("0.0000.0000.001-0", "other medicine", otherManufacturer));
+    testEntityManager.flush();
+
+    // when
+    int affectedMedicines = medicineRepository.repriceAllByManufacturerId(manufacturer.getId(), new BigDecimal("4.5"));
+    testEntityManager.clear();
+
+    // then
+    assertThat(affectedMedicines).isEqualTo(1);
+    assertThat(medicineRepository.findById("0.0000.0000.000-0").orElseThrow().getPrice())
+        .isEqualByComparingTo(new BigDecimal("1.05"));
+    assertThat(medicineRepository.findById("0.0000.0000.001-0").orElseThrow().getPrice())
+        .isEqualByComparingTo(BigDecimal.ONE);
+  }
+
+  @Test
+  @DisplayName("repriceAllByManufacturerId() should reprice 100k medicines in a single statement")
+  void repriceAllByManufacturerIdShouldReprice100kMedicinesInSingleStatement() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    testEntityManager.flush();
+    testEntityManager.getEntityManager()
+        .createNativeQuery("INSERT INTO medicine ("
+            + "registration_number, name, expiration_date, customer_service_phone, price, amount_of_pills, "
+            + "manufacturer_id"
+            + ") SELECT CONCAT('medicine-', X), CONCAT('medicine ', X), DATE '2030-01-01', '(00)0000-0000', "
+            + "10.00, 1, :manufacturerId FROM SYSTEM_RANGE(1, 100000)")
+        .setParameter("manufacturerId", manufacturer.getId())
+        .executeUpdate();
+
+    Statistics statistics = testEntityManager.getEntityManager()
+        .getEntityManagerFactory()
+        .unwrap(SessionFactory.class)
+        .getStatistics();
+    statistics.clear();
+
+    // when
+    int affectedMedicines = medicineRepository.repriceAllByManufacturerId(manufacturer.getId(), new BigDecimal("4.5"));
+
+    // then
+    assertThat(affectedMedicines).isEqualTo(100_000);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(medicineRepository.findById("medicine-100000").orElseThrow().getPrice())
+        .isEqualByComparingTo(new BigDecimal("10.45"));
+  }
+
+  @Test
+  @DisplayName("updateAllByManufacturerId() should write only the given columns and clear the content hash")
+  void updateAllByManufacturerIdShouldWriteOnlyTheGivenColumnsAndClearTheContentHash() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    Medicine medicine = medicineRepository.save(makeMedicine("0.0000.0000.000-0", "medicine", manufacturer));
+    testEntityManager.flush();
+    testEntityManager.getEntityManager()
+        .createNativeQuery("UPDATE medicine SET content_hash = 'hash'")
+        .executeUpdate();
+
+    // when
+    int affectedMedicines = medicineRepository.updateAllByManufacturerId(
+        manufacturer.getId(),
+        LocalDate.of(2030, 1, 1),
+        null);
+    testEntityManager.clear();
+
+    // then
+    assertThat(affectedMedicines).isEqualTo(1);
+    Medicine updatedMedicine = medicineRepository.findById("0.0000.0000.000-0").orElseThrow();
+    assertThat(updatedMedicine.getExpirationDate()).isEqualTo(LocalDate.of(2030, 1, 1));
+    assertThat(updatedMedicine.getCustomerServicePhone()).isEqualTo(medicine.getCustomerServicePhone());
+    assertThat(testEntityManager.getEntityManager()
+        .createNativeQuery("SELECT content_hash FROM medicine")
+        .getSingleResult())
+        .isNull();
+  }
+
+  private Medicine makeMedicine(String registrationNumber, String name, Manufacturer manufacturer) {
+    return new Medicine(
+        registrationNumber,
+        name,
+        LocalDate.now(),
+        "(00)0000-0000",
+        BigDecimal.valueOf(1),
+        1,
+        manufacturer,
+        Set.of());
+  }
 }
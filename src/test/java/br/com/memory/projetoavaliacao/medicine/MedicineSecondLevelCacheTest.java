@@ -0,0 +1,129 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.region.factory_class=jcache",
+    "spring.jpa.properties.hibernate.javax.cache.provider=com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+    "spring.jpa.properties.hibernate.javax.cache.missing_cache_strategy=fail",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(AdverseReactionCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MedicineSecondLevelCacheTest {
+  private static final String ADVERSE_REACTION_REGION = AdverseReaction.class.getName();
+  private static final String ADVERSE_REACTIONS_REGION = Medicine.class.getName() + ".adverseReactions";
+
+  @Autowired
+  private MedicineRepository medicineRepository;
+
+  @Autowired
+  private AdverseReactionRepository adverseReactionRepository;
+
+  @Autowired
+  private ManufacturerRepository manufacturerRepository;
+
+  @Autowired
+  private AdverseReactionCache adverseReactionCache;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  void cleanUp() {
+    medicineRepository.deleteAll();
+    adverseReactionRepository.deleteAll();
+    manufacturerRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("findAllById() should serve adverse reactions from the second-level cache once they were loaded")
+  void findAllByIdShouldServeAdverseReactionsFromSecondLevelCacheOnceTheyWereLoaded() {
+    // given
+    Long id = adverseReactionRepository.save(new AdverseReaction("reaction")).getId();
+    findAdverseReactions(Set.of(id));
+    Statistics statistics = getStatistics();
+
+    // when
+    List<AdverseReaction> adverseReactions = findAdverseReactions(Set.of(id));
+
+    // then
+    assertThat(adverseReactions.size()).isEqualTo(1);
+    assertThat(statistics.getDomainDataRegionStatistics(ADVERSE_REACTION_REGION).getHitCount()).isEqualTo(1L);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(0L);
+  }
+
+  @Test
+  @DisplayName("findById() should serve the adverse reactions of a medicine from the second-level cache once they were loaded")
+  void findByIdShouldServeAdverseReactionsOfMedicineFromSecondLevelCacheOnceTheyWereLoaded() {
+    // given
+    Manufacturer manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    AdverseReaction adverseReaction = adverseReactionRepository.save(new AdverseReaction("reaction"));
+    medicineRepository.save(new Medicine(
+        "1.4444.4444.333-1",
+        "medicine",
+        LocalDate.of(2030, 1, 1),
+        "(11) 2222-3333",
+        BigDecimal.TEN,
+        20,
+        manufacturer,
+        Set.of(adverseReaction)));
+    loadMedicineWithAdverseReactions("1.4444.4444.333-1");
+    Statistics statistics = getStatistics();
+
+    // when
+    loadMedicineWithAdverseReactions("1.4444.4444.333-1");
+
+    // then
+    assertThat(statistics.getDomainDataRegionStatistics(ADVERSE_REACTIONS_REGION).getHitCount()).isEqualTo(1L);
+    assertThat(statistics.getDomainDataRegionStatistics(ADVERSE_REACTION_REGION).getHitCount()).isEqualTo(1L);
+  }
+
+  private Statistics getStatistics() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
+
+  private List<AdverseReaction> findAdverseReactions(Set<Long> ids) {
+    return new TransactionTemplate(transactionManager).execute(status -> adverseReactionCache.findAllById(ids));
+  }
+
+  private void loadMedicineWithAdverseReactions(String registrationNumber) {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> medicineRepository
+        .findById(registrationNumber)
+        .orElseThrow()
+        .getAdverseReactions()
+        .size());
+  }
+}
@@ -0,0 +1,189 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "br.com.memory.projetoavaliacao.medicine.MedicineServiceStatementTest$RecordingStatementInspector")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+    MedicineService.class,
+    MedicineCache.class,
+    MedicineStockBuffer.class,
+    ManufacturerCache.class,
+    AdverseReactionCache.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MedicineServiceStatementTest {
+  private static final String REGISTRATION_NUMBER = "1.4444.4444.333-1";
+
+  @Autowired
+  private MedicineService medicineService;
+
+  @Autowired
+  private MedicineRepository medicineRepository;
+
+  @Autowired
+  private AdverseReactionRepository adverseReactionRepository;
+
+  @Autowired
+  private ManufacturerRepository manufacturerRepository;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private Manufacturer manufacturer;
+
+  private AdverseReaction firstReaction;
+
+  private AdverseReaction secondReaction;
+
+  private AdverseReaction thirdReaction;
+
+  @BeforeEach
+  void setUp() {
+    medicineRepository.deleteAll();
+    adverseReactionRepository.deleteAll();
+    manufacturerRepository.deleteAll();
+
+    manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    firstReaction = adverseReactionRepository.save(new AdverseReaction("first reaction"));
+    secondReaction = adverseReactionRepository.save(new AdverseReaction("second reaction"));
+    thirdReaction = adverseReactionRepository.save(new AdverseReaction("third reaction"));
+    medicineService.create(new MedicineCreationDto(
+        REGISTRATION_NUMBER,
+        "medicine",
+        LocalDate.of(2030, 1, 1),
+        "(11) 2222-3333",
+        BigDecimal.TEN,
+        20,
+        manufacturer.getId(),
+        Set.of(firstReaction.getId(), secondReaction.getId())));
+    RecordingStatementInspector.STATEMENTS.clear();
+  }
+
+  @Test
+  @DisplayName("update() should not write the join table when the adverse reactions did not change")
+  void updateShouldNotWriteTheJoinTableWhenTheAdverseReactionsDidNotChange() {
+    // when
+    medicineService.update(REGISTRATION_NUMBER, makeMedicineUpdateDto(Set.of(
+        firstReaction.getId(),
+        secondReaction.getId())));
+
+    // then
+    assertThat(findJoinTableWrites()).isEmpty();
+    assertThat(findLinkedAdverseReactionIds()).containsExactlyInAnyOrder(firstReaction.getId(), secondReaction.getId());
+  }
+
+  @Test
+  @DisplayName("update() should only insert the link of an added adverse reaction")
+  void updateShouldOnlyInsertTheLinkOfAnAddedAdverseReaction() {
+    // when
+    medicineService.update(REGISTRATION_NUMBER, makeMedicineUpdateDto(Set.of(
+        firstReaction.getId(),
+        secondReaction.getId(),
+        thirdReaction.getId())));
+
+    // then
+    assertThat(findJoinTableWrites()).hasSize(1);
+    assertThat(findJoinTableWrites().get(0)).startsWith("insert");
+    assertThat(findLinkedAdverseReactionIds())
+        .containsExactlyInAnyOrder(firstReaction.getId(), secondReaction.getId(), thirdReaction.getId());
+  }
+
+  @Test
+  @DisplayName("update() should only delete the link of a removed adverse reaction")
+  void updateShouldOnlyDeleteTheLinkOfARemovedAdverseReaction() {
+    // when
+    medicineService.update(REGISTRATION_NUMBER, makeMedicineUpdateDto(Set.of(firstReaction.getId())));
+
+    // then
+    assertThat(findJoinTableWrites()).hasSize(1);
+    assertThat(findJoinTableWrites().get(0)).startsWith("delete");
+    assertThat(findLinkedAdverseReactionIds()).containsExactly(firstReaction.getId());
+  }
+
+  @Test
+  @DisplayName("patch() should write only the given columns and leave the join table untouched")
+  void patchShouldWriteOnlyTheGivenColumnsAndLeaveTheJoinTableUntouched() {
+    // given
+    new JdbcTemplate(dataSource).update("UPDATE medicine SET content_hash = 'hash'");
+    RecordingStatementInspector.STATEMENTS.clear();
+
+    // when
+    medicineService.patch(REGISTRATION_NUMBER, new MedicinePatchDto(
+        null, null, null, BigDecimal.ONE, null, null, null));
+
+    // then
+    List<String> medicineUpdates = RecordingStatementInspector.STATEMENTS.stream()
+        .filter(statement -> statement.startsWith("update medicine set"))
+        .collect(Collectors.toList());
+    assertThat(medicineUpdates).hasSize(1);
+    assertThat(medicineUpdates.get(0)).contains("price=?", "content_hash=?");
+    assertThat(medicineUpdates.get(0)).doesNotContain("name=?", "manufacturer_id=?");
+    assertThat(findJoinTableWrites()).isEmpty();
+    assertThat(findLinkedAdverseReactionIds()).containsExactlyInAnyOrder(firstReaction.getId(), secondReaction.getId());
+  }
+
+  private List<String> findJoinTableWrites() {
+    return RecordingStatementInspector.STATEMENTS.stream()
+        .filter(statement -> statement.contains("medicine_adverse_reaction") && !statement.startsWith("select"))
+        .collect(Collectors.toList());
+  }
+
+  private List<Long> findLinkedAdverseReactionIds() {
+    return new JdbcTemplate(dataSource).queryForList(
+        "SELECT adverse_reaction_id FROM medicine_adverse_reaction WHERE medicine_registration_number = ?",
+        Long.class,
+        REGISTRATION_NUMBER);
+  }
+
+  private MedicineUpdateDto makeMedicineUpdateDto(Set<Long> adverseReactionIds) {
+    return new MedicineUpdateDto(
+        "medicine",
+        LocalDate.of(2030, 1, 1),
+        "(11) 2222-3333",
+        BigDecimal.TEN,
+        20,
+        manufacturer.getId(),
+        adverseReactionIds);
+  }
+
+  public static class RecordingStatementInspector implements StatementInspector {
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql.trim().toLowerCase());
+      return sql;
+    }
+  }
+}
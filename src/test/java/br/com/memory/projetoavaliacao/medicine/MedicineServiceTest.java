@@ -4,31 +4,46 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
-import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
 import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
-import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
+import br.com.memory.projetoavaliacao.shared.exception.PriceOutOfRangeException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceAlreadyExistsException;
 import br.com.memory.projetoavaliacao.shared.exception.ResourceNotFoundException;
+import br.com.memory.projetoavaliacao.shared.pagination.CursorPage;
 
 @ExtendWith(MockitoExtension.class)
 public class MedicineServiceTest {
@@ -38,17 +53,25 @@ public class MedicineServiceTest {
   private MedicineRepository medicineRepository;
 
   @Mock
-  private ManufacturerRepository manufacturerRepository;
+  private ManufacturerCache manufacturerCache;
 
   @Mock
-  private AdverseReactionRepository adverseReactionRepository;
+  private AdverseReactionCache adverseReactionCache;
+
+  @Mock
+  private MedicineCache medicineCache;
+
+  @Mock
+  private MedicineStockBuffer medicineStockBuffer;
 
   @BeforeEach
   void setUp() {
     medicineService = new MedicineService(
         medicineRepository,
-        manufacturerRepository,
-        adverseReactionRepository);
+        manufacturerCache,
+        adverseReactionCache,
+        medicineCache,
+        medicineStockBuffer);
   }
 
   @Test
@@ -59,6 +82,10 @@ public class MedicineServiceTest {
     String name = "Strong medicine";
     Pageable page = PageRequest.of(0, 1);
 
+    when(medicineRepository.findAllBy(registrationNumber, name, page))
+        .thenReturn(Page.empty(page));
+    when(medicineCache.jsonEncoder()).thenReturn(this::toJson);
+
     // when
     medicineService.findAllBy(registrationNumber, name, page);
 
@@ -66,20 +93,176 @@ public class MedicineServiceTest {
     verify(medicineRepository).findAllBy(registrationNumber, name, page);
   }
 
+  @Test
+  @DisplayName("findSliceBy() should call medicine repository with the given arguments")
+  void findSliceByShouldCallMedicineRepositoryWithGivenArguments() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    String name = "Strong medicine";
+    Pageable page = PageRequest.of(0, 1);
+
+    when(medicineRepository.findSliceBy(registrationNumber, name, page))
+        .thenReturn(new SliceImpl<>(List.of(), page, false));
+    when(medicineCache.jsonEncoder()).thenReturn(this::toJson);
+
+    // when
+    medicineService.findSliceBy(registrationNumber, name, page);
+
+    // then
+    verify(medicineRepository).findSliceBy(registrationNumber, name, page);
+  }
+
+  @Test
+  @DisplayName("findByRegistrationNumber() should throw when given a non-existent registration number")
+  void findByRegistrationNumberShouldThrowWhenGivenNonExistentRegistrationNumber() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineCache.findByRegistrationNumber(registrationNumber))
+        .thenReturn(Optional.empty());
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.findByRegistrationNumber(registrationNumber))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("findByRegistrationNumber() should return the cached medicine when given an existent registration number")
+  void findByRegistrationNumberShouldReturnCachedMedicineWhenGivenExistentRegistrationNumber() {
+    // given
+    Medicine medicine = makeMedicine(makeManufacturer(), Set.of(makeAdverseReaction()));
+    MedicineView medicineView = MedicineView.of(medicine);
+    CachedMedicine cachedMedicine = new CachedMedicine(medicineView, toJson(medicineView), "entity-tag");
+
+    when(medicineCache.findByRegistrationNumber(medicine.getRegistrationNumber()))
+        .thenReturn(Optional.of(cachedMedicine));
+
+    // when
+    CachedMedicine foundMedicine = medicineService.findByRegistrationNumber(medicine.getRegistrationNumber());
+
+    // then
+    assertThat(foundMedicine).isEqualTo(cachedMedicine);
+  }
+
+  @Test
+  @DisplayName("findAllByRegistrationNumber() should return found medicines in request order and list the missing ones")
+  void findAllByRegistrationNumberShouldReturnFoundMedicinesInRequestOrderAndListTheMissingOnes() {
+    // given
+    Medicine firstMedicine = makeMedicine(makeManufacturer(), Set.of(makeAdverseReaction()));
+    Medicine secondMedicine = makeMedicine("1.4444.4444.333-2", makeManufacturer(), Set.of(makeAdverseReaction()));
+    List<String> registrationNumbers = List.of(
+        "1.4444.4444.333-2",
+        "1.4444.4444.333-9",
+        firstMedicine.getRegistrationNumber(),
+        "1.4444.4444.333-2");
+
+    when(medicineCache.findAllByRegistrationNumber(Set.copyOf(registrationNumbers)))
+        .thenReturn(Map.of(
+            firstMedicine.getRegistrationNumber(), makeCachedMedicine(firstMedicine),
+            secondMedicine.getRegistrationNumber(), makeCachedMedicine(secondMedicine)));
+
+    // when
+    MedicineLookupResult result = medicineService.findAllByRegistrationNumber(registrationNumbers);
+
+    // then
+    assertThat(result.getMedicines())
+        .isEqualTo(List.of(
+            toJson(MedicineView.of(secondMedicine)),
+            toJson(MedicineView.of(firstMedicine))));
+    assertThat(result.getMissingRegistrationNumbers()).isEqualTo(List.of("1.4444.4444.333-9"));
+  }
+
+  @Test
+  @DisplayName("findAllAfter() should return a cursor to the last medicine when there are more medicines than the size")
+  void findAllAfterShouldReturnCursorToLastMedicineWhenThereAreMoreMedicinesThanTheSize() {
+    // given
+    MedicineCursor cursor = MedicineCursor.first(MedicineOrder.REGISTRATION_NUMBER);
+    List<MedicineView> medicines = List.of(
+        MedicineView.of(makeMedicine("0.0000.0000.000-1", makeManufacturer(), Set.of())),
+        MedicineView.of(makeMedicine("0.0000.0000.000-2", makeManufacturer(), Set.of())));
+    when(medicineRepository.findSliceAfter(null, null, cursor, 2))
+        .thenReturn(new SliceImpl<>(medicines, PageRequest.of(0, 2), true));
+    when(medicineCache.jsonEncoder()).thenReturn(this::toJson);
+
+    // when
+    CursorPage<MedicineJson> cursorPage = medicineService.findAllAfter(null, null, cursor, 2);
+
+    // then
+    assertThat(cursorPage.getContent())
+        .isEqualTo(medicines.stream().map(this::toJson).collect(Collectors.toList()));
+    assertThat(MedicineCursor.decode(cursorPage.getNextCursor()))
+        .isEqualTo(cursor.after(medicines.get(1)));
+  }
+
+  @Test
+  @DisplayName("findAllAfter() should return no cursor when there are no more medicines than the size")
+  void findAllAfterShouldReturnNoCursorWhenThereAreNoMoreMedicinesThanTheSize() {
+    // given
+    MedicineCursor cursor = new MedicineCursor(MedicineOrder.NAME, "medicine", "0.0000.0000.000-1");
+    List<MedicineView> medicines = List.of(
+        MedicineView.of(makeMedicine("0.0000.0000.000-2", makeManufacturer(), Set.of())));
+    when(medicineRepository.findSliceAfter(null, null, cursor, 2))
+        .thenReturn(new SliceImpl<>(medicines, PageRequest.of(0, 2), false));
+    when(medicineCache.jsonEncoder()).thenReturn(this::toJson);
+
+    // when
+    CursorPage<MedicineJson> cursorPage = medicineService.findAllAfter(null, null, cursor, 2);
+
+    // then
+    assertThat(cursorPage.getContent())
+        .isEqualTo(medicines.stream().map(this::toJson).collect(Collectors.toList()));
+    assertThat(cursorPage.getNextCursor()).isNull();
+  }
+
   @Test
   @DisplayName("create() should throw when the given registration number already exists")
   void createShouldThrowWhenGivenRegistrationNumberAlreadyExists() {
     // given
-    MedicineCreationDto medicineCreationDto = makeMedicineCreationDto(1L, Set.of(1L));
-    when(medicineRepository.existsById(medicineCreationDto.getRegistrationNumber()))
-        .thenReturn(true);
+    Manufacturer manufacturer = makeManufacturer();
+    AdverseReaction adverseReaction = makeAdverseReaction();
+    MedicineCreationDto medicineCreationDto = makeMedicineCreationDto(
+        manufacturer.getId(),
+        Set.of(adverseReaction.getId()));
+
+    when(manufacturerCache.findById(medicineCreationDto.getManufacturerId()))
+        .thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(medicineCreationDto.getAdverseReactionIds()))
+        .thenReturn(List.of(adverseReaction));
+    when(medicineRepository.insert(any(Medicine.class)))
+        .thenThrow(new DataIntegrityViolationException(
+            "duplicate key",
+            new SQLException("duplicate key", "23505")));
 
     // when
     // then
     assertThatThrownBy(() -> medicineService.create(medicineCreationDto))
         .isInstanceOf(ResourceAlreadyExistsException.class);
+  }
 
-    verify(medicineRepository, never()).save(any());
+  @Test
+  @DisplayName("create() should rethrow integrity violations other than a duplicate registration number")
+  void createShouldRethrowIntegrityViolationsOtherThanDuplicateRegistrationNumber() {
+    // given
+    Manufacturer manufacturer = makeManufacturer();
+    AdverseReaction adverseReaction = makeAdverseReaction();
+    MedicineCreationDto medicineCreationDto = makeMedicineCreationDto(
+        manufacturer.getId(),
+        Set.of(adverseReaction.getId()));
+
+    when(manufacturerCache.findById(medicineCreationDto.getManufacturerId()))
+        .thenReturn(Optional.of(manufacturer));
+    when(adverseReactionCache.findAllById(medicineCreationDto.getAdverseReactionIds()))
+        .thenReturn(List.of(adverseReaction));
+    when(medicineRepository.insert(any(Medicine.class)))
+        .thenThrow(new DataIntegrityViolationException(
+            "foreign key",
+            new SQLException("foreign key", "23503")));
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.create(medicineCreationDto))
+        .isInstanceOf(DataIntegrityViolationException.class);
   }
 
   @Test
@@ -87,9 +270,7 @@ public class MedicineServiceTest {
   void createShouldThrowWhenGivenNonExistentManufacturerId() {
     // given
     MedicineCreationDto medicineCreationDto = makeMedicineCreationDto(1L, Set.of(1L));
-    when(medicineRepository.existsById(medicineCreationDto.getRegistrationNumber()))
-        .thenReturn(false);
-    when(manufacturerRepository.findById(medicineCreationDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineCreationDto.getManufacturerId()))
         .thenReturn(Optional.empty());
 
     // when
@@ -97,7 +278,7 @@ public class MedicineServiceTest {
     assertThatThrownBy(() -> medicineService.create(medicineCreationDto))
         .isInstanceOf(ResourceNotFoundException.class);
 
-    verify(medicineRepository, never()).save(any());
+    verify(medicineRepository, never()).insert(any());
   }
 
   @Test
@@ -109,11 +290,9 @@ public class MedicineServiceTest {
         manufacturer.getId(),
         Set.of(1L));
 
-    when(medicineRepository.existsById(medicineCreationDto.getRegistrationNumber()))
-        .thenReturn(false);
-    when(manufacturerRepository.findById(medicineCreationDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineCreationDto.getManufacturerId()))
         .thenReturn(Optional.of(manufacturer));
-    when(adverseReactionRepository.findAllById(medicineCreationDto.getAdverseReactionIds()))
+    when(adverseReactionCache.findAllById(medicineCreationDto.getAdverseReactionIds()))
         .thenReturn(List.of());
 
     // when
@@ -121,7 +300,7 @@ public class MedicineServiceTest {
     assertThatThrownBy(() -> medicineService.create(medicineCreationDto))
         .isInstanceOf(ResourceNotFoundException.class);
 
-    verify(medicineRepository, never()).save(any());
+    verify(medicineRepository, never()).insert(any());
   }
 
   @Test
@@ -134,13 +313,11 @@ public class MedicineServiceTest {
         manufacturer.getId(),
         Set.of(adverseReaction.getId()));
 
-    when(medicineRepository.existsById(medicineCreationDto.getRegistrationNumber()))
-        .thenReturn(false);
-    when(manufacturerRepository.findById(medicineCreationDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineCreationDto.getManufacturerId()))
         .thenReturn(Optional.of(manufacturer));
-    when(adverseReactionRepository.findAllById(medicineCreationDto.getAdverseReactionIds()))
+    when(adverseReactionCache.findAllById(medicineCreationDto.getAdverseReactionIds()))
         .thenReturn(List.of(adverseReaction));
-    when(medicineRepository.save(any(Medicine.class))).then(returnsFirstArg());
+    when(medicineRepository.insert(any(Medicine.class))).then(returnsFirstArg());
 
     // when
     Medicine medicine = medicineService.create(medicineCreationDto);
@@ -182,7 +359,7 @@ public class MedicineServiceTest {
 
     when(medicineRepository.findById(registrationNumber))
         .thenReturn(Optional.of(medicine));
-    when(manufacturerRepository.findById(medicineUpdateDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineUpdateDto.getManufacturerId()))
         .thenReturn(Optional.empty());
 
     // when
@@ -206,9 +383,9 @@ public class MedicineServiceTest {
 
     when(medicineRepository.findById(registrationNumber))
         .thenReturn(Optional.of(medicine));
-    when(manufacturerRepository.findById(medicineUpdateDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineUpdateDto.getManufacturerId()))
         .thenReturn(Optional.of(manufacturer));
-    when(adverseReactionRepository.findAllById(medicineUpdateDto.getAdverseReactionIds()))
+    when(adverseReactionCache.findAllById(medicineUpdateDto.getAdverseReactionIds()))
         .thenReturn(List.of());
 
     // when
@@ -225,7 +402,8 @@ public class MedicineServiceTest {
     // given
     Manufacturer manufacturer = makeManufacturer();
     AdverseReaction adverseReaction = makeAdverseReaction();
-    Medicine medicine = makeMedicine(manufacturer, Set.of(adverseReaction));
+    Medicine medicine = makeMedicine(manufacturer, new HashSet<>(Set.of(adverseReaction)));
+    medicine.setContentHash("hash");
     String registrationNumber = medicine.getRegistrationNumber();
     MedicineUpdateDto medicineUpdateDto = makeMedicineUpdateDto(
         manufacturer.getId(),
@@ -233,9 +411,9 @@ public class MedicineServiceTest {
 
     when(medicineRepository.findById(registrationNumber))
         .thenReturn(Optional.of(medicine));
-    when(manufacturerRepository.findById(medicineUpdateDto.getManufacturerId()))
+    when(manufacturerCache.findById(medicineUpdateDto.getManufacturerId()))
         .thenReturn(Optional.of(manufacturer));
-    when(adverseReactionRepository.findAllById(medicineUpdateDto.getAdverseReactionIds()))
+    when(adverseReactionCache.findAllById(medicineUpdateDto.getAdverseReactionIds()))
         .thenReturn(List.of(adverseReaction));
     when(medicineRepository.save(any(Medicine.class))).then(returnsFirstArg());
 
@@ -251,6 +429,242 @@ public class MedicineServiceTest {
     assertThat(updatedMedicine.getRegistrationNumber()).isEqualTo(registrationNumber);
     assertThat(updatedMedicine.getManufacturer()).isEqualTo(manufacturer);
     assertThat(updatedMedicine.getAdverseReactions().contains(adverseReaction)).isTrue();
+    assertThat(medicine.getContentHash()).isNull();
+    verify(medicineCache).invalidate(registrationNumber);
+  }
+
+  @Test
+  @DisplayName("patch() should throw when given a non-existent registration number")
+  void patchShouldThrowWhenGivenNonExistentRegistrationNumber() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+    MedicinePatchDto medicinePatchDto = new MedicinePatchDto(
+        null, null, null, BigDecimal.valueOf(2), null, null, null);
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.patch(registrationNumber, medicinePatchDto))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    verify(medicineRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("patch() should change only the given fields without looking up the manufacturer and adverse reactions")
+  void patchShouldChangeOnlyTheGivenFieldsWithoutLookingUpTheManufacturerAndAdverseReactions() {
+    // given
+    Manufacturer manufacturer = makeManufacturer();
+    AdverseReaction adverseReaction = makeAdverseReaction();
+    Medicine medicine = makeMedicine(manufacturer, new HashSet<>(Set.of(adverseReaction)));
+    medicine.setContentHash("hash");
+    String registrationNumber = medicine.getRegistrationNumber();
+    MedicinePatchDto medicinePatchDto = new MedicinePatchDto(
+        null, null, null, BigDecimal.valueOf(2), 5, null, null);
+
+    when(medicineRepository.findById(registrationNumber))
+        .thenReturn(Optional.of(medicine));
+    when(medicineRepository.save(any(Medicine.class))).then(returnsFirstArg());
+
+    // when
+    Medicine patchedMedicine = medicineService.patch(registrationNumber, medicinePatchDto);
+
+    // then
+    assertThat(patchedMedicine.getPrice()).isEqualTo(BigDecimal.valueOf(2));
+    assertThat(patchedMedicine.getAmountOfPills()).isEqualTo(5);
+    assertThat(patchedMedicine.getName()).isEqualTo("medicine");
+    assertThat(patchedMedicine.getManufacturer()).isEqualTo(manufacturer);
+    assertThat(patchedMedicine.getAdverseReactions()).isEqualTo(Set.of(adverseReaction));
+    verify(manufacturerCache, never()).findById(anyLong());
+    verify(adverseReactionCache, never()).findAllById(any());
+    assertThat(medicine.getContentHash()).isNull();
+    verify(medicineCache).invalidate(registrationNumber);
+  }
+
+  @Test
+  @DisplayName("patch() should throw when given a non-existent manufacturer id")
+  void patchShouldThrowWhenGivenNonExistentManufacturerId() {
+    // given
+    Medicine medicine = makeMedicine(makeManufacturer(), new HashSet<>(Set.of(makeAdverseReaction())));
+    String registrationNumber = medicine.getRegistrationNumber();
+    MedicinePatchDto medicinePatchDto = new MedicinePatchDto(
+        null, null, null, null, null, 2L, null);
+
+    when(medicineRepository.findById(registrationNumber))
+        .thenReturn(Optional.of(medicine));
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.patch(registrationNumber, medicinePatchDto))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    verify(medicineRepository, never()).save(any());
+  }
+
+  @Test
+  @DisplayName("adjustStock() should return the adjusted amount of pills")
+  void adjustStockShouldReturnTheAdjustedAmountOfPills() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.adjustAmountOfPills(registrationNumber, -3)).thenReturn(1);
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.of(7));
+
+    // when
+    MedicineStock stock = medicineService.adjustStock(registrationNumber, -3);
+
+    // then
+    assertThat(stock).isEqualTo(new MedicineStock(registrationNumber, 7));
+    verify(medicineCache).invalidate(registrationNumber);
+  }
+
+  @Test
+  @DisplayName("adjustStock() should throw when given a non-existent registration number")
+  void adjustStockShouldThrowWhenGivenNonExistentRegistrationNumber() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.empty());
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.adjustStock(registrationNumber, 1))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("adjustStock() should throw when the adjustment would leave the stock negative")
+  void adjustStockShouldThrowWhenTheAdjustmentWouldLeaveTheStockNegative() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.adjustAmountOfPills(registrationNumber, -3)).thenReturn(0);
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.of(2));
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.adjustStock(registrationNumber, -3))
+        .isInstanceOf(InsufficientStockException.class);
+
+    verify(medicineCache, never()).invalidate(registrationNumber);
+  }
+
+  @Test
+  @DisplayName("deferStockAdjustment() should buffer the delta and return the projected amount of pills")
+  void deferStockAdjustmentShouldBufferTheDeltaAndReturnTheProjectedAmountOfPills() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.of(10));
+    when(medicineStockBuffer.add(eq(registrationNumber), eq(-3), any(IntSupplier.class)))
+        .thenAnswer(invocation -> invocation.<IntSupplier>getArgument(2).getAsInt() - 7);
+
+    // when
+    MedicineStock stock = medicineService.deferStockAdjustment(registrationNumber, -3);
+
+    // then
+    assertThat(stock).isEqualTo(new MedicineStock(registrationNumber, 3));
+  }
+
+  @Test
+  @DisplayName("deferStockAdjustment() should throw when given a non-existent registration number")
+  void deferStockAdjustmentShouldThrowWhenGivenNonExistentRegistrationNumber() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.empty());
+    when(medicineStockBuffer.add(eq(registrationNumber), eq(-3), any(IntSupplier.class)))
+        .thenAnswer(invocation -> invocation.<IntSupplier>getArgument(2).getAsInt());
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.deferStockAdjustment(registrationNumber, -3))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("findStock() should flush pending adjustments before reading the amount of pills")
+  void findStockShouldFlushPendingAdjustmentsBeforeReadingTheAmountOfPills() {
+    // given
+    String registrationNumber = "1.4444.4444.333-1";
+
+    when(medicineRepository.findAmountOfPills(registrationNumber)).thenReturn(Optional.of(7));
+
+    // when
+    MedicineStock stock = medicineService.findStock(registrationNumber);
+
+    // then
+    assertThat(stock).isEqualTo(new MedicineStock(registrationNumber, 7));
+    InOrder inOrder = inOrder(medicineStockBuffer, medicineRepository);
+    inOrder.verify(medicineStockBuffer).flush(registrationNumber);
+    inOrder.verify(medicineRepository).findAmountOfPills(registrationNumber);
+  }
+
+  @Test
+  @DisplayName("repriceAllByManufacturerId() should return the number of affected medicines and invalidate the cache")
+  void repriceAllByManufacturerIdShouldReturnTheNumberOfAffectedMedicinesAndInvalidateTheCache() {
+    // given
+    BigDecimal percentage = new BigDecimal("4.5");
+
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(makeManufacturer()));
+    when(medicineRepository.repriceAllByManufacturerId(1L, percentage)).thenReturn(42);
+
+    // when
+    MedicineBulkUpdateResult result = medicineService.repriceAllByManufacturerId(1L, percentage);
+
+    // then
+    assertThat(result).isEqualTo(new MedicineBulkUpdateResult(1L, 42));
+    verify(medicineCache).invalidateAll();
+  }
+
+  @Test
+  @DisplayName("repriceAllByManufacturerId() should throw when a repriced medicine would exceed the maximum price")
+  void repriceAllByManufacturerIdShouldThrowWhenARepricedMedicineWouldExceedTheMaximumPrice() {
+    // given
+    BigDecimal percentage = new BigDecimal("900");
+
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(makeManufacturer()));
+    when(medicineRepository.repriceAllByManufacturerId(1L, percentage))
+        .thenThrow(new DataIntegrityViolationException(
+            "numeric field overflow",
+            new SQLException("numeric field overflow", "22003")));
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.repriceAllByManufacturerId(1L, percentage))
+        .isInstanceOf(PriceOutOfRangeException.class);
+
+    verify(medicineCache, never()).invalidateAll();
+  }
+
+  @Test
+  @DisplayName("repriceAllByManufacturerId() should throw when given a non-existent manufacturer id")
+  void repriceAllByManufacturerIdShouldThrowWhenGivenNonExistentManufacturerId() {
+    // given
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.empty());
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.repriceAllByManufacturerId(1L, BigDecimal.TEN))
+        .isInstanceOf(ResourceNotFoundException.class);
+
+    verify(medicineRepository, never()).repriceAllByManufacturerId(1L, BigDecimal.TEN);
+  }
+
+  @Test
+  @DisplayName("updateAllByManufacturerId() should pass the given fields and return the number of affected medicines")
+  void updateAllByManufacturerIdShouldPassTheGivenFieldsAndReturnTheNumberOfAffectedMedicines() {
+    // given
+    MedicineBulkUpdateDto medicineBulkUpdateDto = new MedicineBulkUpdateDto(null, "(11) 91234-5678");
+
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(makeManufacturer()));
+    when(medicineRepository.updateAllByManufacturerId(1L, null, "(11) 91234-5678")).thenReturn(42);
+
+    // when
+    MedicineBulkUpdateResult result = medicineService.updateAllByManufacturerId(1L, medicineBulkUpdateDto);
+
+    // then
+    assertThat(result).isEqualTo(new MedicineBulkUpdateResult(1L, 42));
+    verify(medicineCache).invalidateAll();
   }
 
   @Test
@@ -283,6 +697,7 @@ public class MedicineServiceTest {
 
     // then
     verify(medicineRepository).delete(medicine);
+    verify(medicineCache).invalidate(medicine.getRegistrationNumber());
   }
 
   private Manufacturer makeManufacturer() {
@@ -316,9 +731,25 @@ public class MedicineServiceTest {
         adverseReactionIds);
   }
 
+  private MedicineJson toJson(MedicineView medicine) {
+    return new MedicineJson("\"" + medicine.getRegistrationNumber() + "\"");
+  }
+
+  private CachedMedicine makeCachedMedicine(Medicine medicine) {
+    MedicineView medicineView = MedicineView.of(medicine);
+    return new CachedMedicine(medicineView, toJson(medicineView), medicine.getRegistrationNumber());
+  }
+
   private Medicine makeMedicine(Manufacturer manufacturer, Set<AdverseReaction> adverseReaction) {
+    return makeMedicine("1.4444.4444.333-1", manufacturer, adverseReaction);
+  }
+
+  private Medicine makeMedicine(
+      String registrationNumber,
+      Manufacturer manufacturer,
+      Set<AdverseReaction> adverseReaction) {
     return new Medicine(
-        "1.4444.4444.333-1",
+        registrationNumber,
         "medicine",
         LocalDate.now(),
         "(12)0000-0000",
@@ -0,0 +1,352 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionRepository;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerRepository;
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
+import br.com.memory.projetoavaliacao.shared.exception.ResourceAlreadyExistsException;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+    MedicineService.class,
+    MedicineCache.class,
+    MedicineStockBuffer.class,
+    ManufacturerCache.class,
+    AdverseReactionCache.class,
+    MedicineServiceTransactionTest.ConnectionCountingConfiguration.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class MedicineServiceTransactionTest {
+  @Autowired
+  private MedicineService medicineService;
+
+  @Autowired
+  private MedicineRepository medicineRepository;
+
+  @Autowired
+  private AdverseReactionRepository adverseReactionRepository;
+
+  @Autowired
+  private ManufacturerRepository manufacturerRepository;
+
+  @Autowired
+  private DataSource dataSource;
+
+  private Manufacturer manufacturer;
+
+  private AdverseReaction adverseReaction;
+
+  @BeforeEach
+  void setUp() {
+    medicineRepository.deleteAll();
+    adverseReactionRepository.deleteAll();
+    manufacturerRepository.deleteAll();
+
+    manufacturer = manufacturerRepository.save(new Manufacturer("manufacturer"));
+    adverseReaction = adverseReactionRepository.save(new AdverseReaction("reaction"));
+  }
+
+  @Test
+  @DisplayName("findAllBy() should check out a single connection")
+  void findAllByShouldCheckOutSingleConnection() {
+    // given
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-2"));
+    ConnectionCountingDataSource countingDataSource = (ConnectionCountingDataSource) dataSource;
+    countingDataSource.reset();
+
+    // when
+    medicineService.findAllBy(null, "med", PageRequest.of(0, 1));
+
+    // then
+    assertThat(countingDataSource.getCheckouts()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("create() should check out a single connection")
+  void createShouldCheckOutSingleConnection() {
+    // given
+    ConnectionCountingDataSource countingDataSource = (ConnectionCountingDataSource) dataSource;
+    countingDataSource.reset();
+
+    // when
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+
+    // then
+    assertThat(countingDataSource.getCheckouts()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("update() should check out a single connection")
+  void updateShouldCheckOutSingleConnection() {
+    // given
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    ConnectionCountingDataSource countingDataSource = (ConnectionCountingDataSource) dataSource;
+    countingDataSource.reset();
+    MedicineUpdateDto medicineUpdateDto = new MedicineUpdateDto(
+        "updated medicine",
+        LocalDate.of(2030, 1, 1),
+        "(11) 2222-3333",
+        BigDecimal.valueOf(20),
+        30,
+        manufacturer.getId(),
+        Set.of(adverseReaction.getId()));
+
+    // when
+    medicineService.update("1.4444.4444.333-1", medicineUpdateDto);
+
+    // then
+    assertThat(countingDataSource.getCheckouts()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("create() should insert a medicine exactly once when called concurrently with the same registration number")
+  void createShouldInsertMedicineExactlyOnceWhenCalledConcurrentlyWithSameRegistrationNumber() throws Exception {
+    // given
+    int numberOfThreads = 8;
+    MedicineCreationDto medicineCreationDto = makeMedicineCreationDto("1.4444.4444.333-1");
+    ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<Medicine>> results = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < numberOfThreads; i++) {
+      results.add(executorService.submit(() -> {
+        startLatch.await();
+        return medicineService.create(medicineCreationDto);
+      }));
+    }
+    startLatch.countDown();
+
+    int numberOfCreations = 0;
+    int numberOfConflicts = 0;
+    for (Future<Medicine> result : results) {
+      try {
+        result.get(30, TimeUnit.SECONDS);
+        numberOfCreations++;
+      } catch (ExecutionException exception) {
+        assertThat(exception.getCause()).isInstanceOf(ResourceAlreadyExistsException.class);
+        numberOfConflicts++;
+      }
+    }
+    executorService.shutdown();
+
+    // then
+    assertThat(numberOfCreations).isEqualTo(1);
+    assertThat(numberOfConflicts).isEqualTo(numberOfThreads - 1);
+    assertThat(medicineRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("adjustStock() should not lose adjustments made concurrently")
+  void adjustStockShouldNotLoseAdjustmentsMadeConcurrently() throws Exception {
+    // given
+    int numberOfThreads = 8;
+    int adjustmentsPerThread = 250;
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < numberOfThreads; i++) {
+      int delta = i % 2 == 0 ? 3 : -1;
+      results.add(executorService.submit(() -> {
+        startLatch.await();
+        for (int j = 0; j < adjustmentsPerThread; j++) {
+          medicineService.adjustStock("1.4444.4444.333-1", delta);
+        }
+        return null;
+      }));
+    }
+    startLatch.countDown();
+
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS);
+    }
+    executorService.shutdown();
+
+    // then
+    int expectedAmountOfPills = 20 + (numberOfThreads / 2) * adjustmentsPerThread * (3 - 1);
+    assertThat(medicineRepository.findAmountOfPills("1.4444.4444.333-1")).contains(expectedAmountOfPills);
+  }
+
+  @Test
+  @DisplayName("adjustStock() should never leave the stock negative when decremented concurrently")
+  void adjustStockShouldNeverLeaveTheStockNegativeWhenDecrementedConcurrently() throws Exception {
+    // given
+    int numberOfThreads = 8;
+    int decrementsPerThread = 10;
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    AtomicInteger numberOfRefusals = new AtomicInteger();
+    List<Future<?>> results = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < numberOfThreads; i++) {
+      results.add(executorService.submit(() -> {
+        startLatch.await();
+        for (int j = 0; j < decrementsPerThread; j++) {
+          try {
+            medicineService.adjustStock("1.4444.4444.333-1", -1);
+          } catch (InsufficientStockException exception) {
+            numberOfRefusals.incrementAndGet();
+          }
+        }
+        return null;
+      }));
+    }
+    startLatch.countDown();
+
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS);
+    }
+    executorService.shutdown();
+
+    // then
+    assertThat(medicineRepository.findAmountOfPills("1.4444.4444.333-1")).contains(0);
+    assertThat(numberOfRefusals.get()).isEqualTo(numberOfThreads * decrementsPerThread - 20);
+  }
+
+  @Test
+  @DisplayName("adjustStock() should throw when the adjustment would overflow the stock")
+  void adjustStockShouldThrowWhenTheAdjustmentWouldOverflowTheStock() {
+    // given
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    medicineService.adjustStock("1.4444.4444.333-1", 32000);
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineService.adjustStock("1.4444.4444.333-1", 32000))
+        .isInstanceOf(InsufficientStockException.class);
+    assertThat(medicineRepository.findAmountOfPills("1.4444.4444.333-1")).contains(32020);
+  }
+
+  @Test
+  @DisplayName("deferStockAdjustment() should not lose adjustments made concurrently")
+  void deferStockAdjustmentShouldNotLoseAdjustmentsMadeConcurrently() throws Exception {
+    // given
+    int numberOfThreads = 8;
+    int adjustmentsPerThread = 250;
+    medicineService.create(makeMedicineCreationDto("1.4444.4444.333-1"));
+    medicineService.adjustStock("1.4444.4444.333-1", 5000);
+    ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < numberOfThreads; i++) {
+      int delta = i % 2 == 0 ? 3 : -1;
+      results.add(executorService.submit(() -> {
+        startLatch.await();
+        for (int j = 0; j < adjustmentsPerThread; j++) {
+          medicineService.deferStockAdjustment("1.4444.4444.333-1", delta);
+        }
+        return null;
+      }));
+    }
+    startLatch.countDown();
+
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS);
+    }
+    executorService.shutdown();
+
+    // then
+    int expectedAmountOfPills = 5020 + (numberOfThreads / 2) * adjustmentsPerThread * (3 - 1);
+    assertThat(medicineService.findStock("1.4444.4444.333-1"))
+        .isEqualTo(new MedicineStock("1.4444.4444.333-1", expectedAmountOfPills));
+    assertThat(medicineRepository.findAmountOfPills("1.4444.4444.333-1")).contains(expectedAmountOfPills);
+  }
+
+  private MedicineCreationDto makeMedicineCreationDto(String registrationNumber) {
+    return new MedicineCreationDto(
+        registrationNumber,
+        "medicine",
+        LocalDate.of(2030, 1, 1),
+        "(11) 2222-3333",
+        BigDecimal.TEN,
+        20,
+        manufacturer.getId(),
+        Set.of(adverseReaction.getId()));
+  }
+
+  @TestConfiguration
+  static class ConnectionCountingConfiguration {
+    @Bean
+    static BeanPostProcessor connectionCountingDataSourcePostProcessor() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof DataSource) {
+            return new ConnectionCountingDataSource((DataSource) bean);
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  static class ConnectionCountingDataSource extends DelegatingDataSource {
+    private final AtomicInteger checkouts = new AtomicInteger();
+
+    ConnectionCountingDataSource(DataSource targetDataSource) {
+      super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+      checkouts.incrementAndGet();
+      return super.getConnection();
+    }
+
+    int getCheckouts() {
+      return checkouts.get();
+    }
+
+    void reset() {
+      checkouts.set(0);
+    }
+  }
+}
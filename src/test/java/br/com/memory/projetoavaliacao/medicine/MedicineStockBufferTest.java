@@ -0,0 +1,312 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.memory.projetoavaliacao.shared.exception.InsufficientStockException;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicineStockBufferTest {
+  private static final String REGISTRATION_NUMBER = "1.4444.4444.333-1";
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private MedicineCache medicineCache;
+
+  private MedicineStockBuffer medicineStockBuffer;
+
+  private Map<String, Long> writtenDeltas;
+
+  private AtomicInteger writtenRows;
+
+  @BeforeEach
+  void setUp() {
+    writtenDeltas = new ConcurrentHashMap<>();
+    writtenRows = new AtomicInteger();
+    lenient().doAnswer(this::writeDeltas)
+        .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    lenient().doAnswer(invocation -> Map.of(
+        "1.4444.4444.333-1", findAmountOfPills("1.4444.4444.333-1"),
+        "1.4444.4444.333-2", findAmountOfPills("1.4444.4444.333-2")))
+        .when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(ResultSetExtractor.class));
+
+    medicineStockBuffer = new MedicineStockBuffer(jdbcTemplate, transactionManager, medicineCache);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    medicineStockBuffer.shutdown();
+  }
+
+  @Test
+  @DisplayName("flush() should coalesce concurrent adjustments into one update per medicine")
+  void flushShouldCoalesceConcurrentAdjustmentsIntoOneUpdatePerMedicine() throws Exception {
+    // given
+    int numberOfThreads = 8;
+    int adjustmentsPerThread = 10_000;
+    ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+
+    // when
+    for (int i = 0; i < numberOfThreads; i++) {
+      String registrationNumber = i % 2 == 0 ? "1.4444.4444.333-1" : "1.4444.4444.333-2";
+      results.add(executorService.submit(() -> {
+        startLatch.await();
+        for (int j = 0; j < adjustmentsPerThread; j++) {
+          medicineStockBuffer.add(registrationNumber, j % 2 == 0 ? 2 : -1, () -> findAmountOfPills(registrationNumber));
+        }
+        return null;
+      }));
+    }
+    startLatch.countDown();
+
+    for (Future<?> result : results) {
+      result.get(60, TimeUnit.SECONDS);
+    }
+    executorService.shutdown();
+    medicineStockBuffer.flush();
+
+    // then
+    long expectedDelta = (numberOfThreads / 2) * (adjustmentsPerThread / 2) * (2 - 1);
+    assertThat(writtenDeltas).containsOnly(
+        Map.entry("1.4444.4444.333-1", expectedDelta),
+        Map.entry("1.4444.4444.333-2", expectedDelta));
+    assertThat(writtenRows.get()).isLessThan(numberOfThreads * adjustmentsPerThread);
+    assertThat(medicineStockBuffer.findPendingDelta("1.4444.4444.333-1")).isZero();
+    verify(medicineCache, atLeastOnce()).invalidate("1.4444.4444.333-1");
+  }
+
+  @Test
+  @DisplayName("add() should reject an adjustment that would leave the projected stock negative")
+  void addShouldRejectAnAdjustmentThatWouldLeaveTheProjectedStockNegative() {
+    // given
+    medicineStockBuffer.add(REGISTRATION_NUMBER, -8, () -> 10);
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineStockBuffer.add(REGISTRATION_NUMBER, -3, () -> 10))
+        .isInstanceOf(InsufficientStockException.class);
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isEqualTo(-8);
+  }
+
+  @Test
+  @DisplayName("add() should reject an adjustment that would overflow the projected stock")
+  void addShouldRejectAnAdjustmentThatWouldOverflowTheProjectedStock() {
+    // given
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 30_000, () -> 2000);
+
+    // when
+    // then
+    assertThatThrownBy(() -> medicineStockBuffer.add(REGISTRATION_NUMBER, 1000, () -> 2000))
+        .isInstanceOf(InsufficientStockException.class);
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isEqualTo(30_000);
+  }
+
+  @Test
+  @DisplayName("add() should count the deltas that are still being written")
+  void addShouldCountTheDeltasThatAreStillBeingWritten() {
+    // given
+    List<Throwable> admissions = new ArrayList<>();
+    doAnswer(invocation -> {
+      try {
+        medicineStockBuffer.add(REGISTRATION_NUMBER, -1, () -> 5);
+      } catch (InsufficientStockException exception) {
+        admissions.add(exception);
+      }
+      return writeDeltas(invocation);
+    }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    medicineStockBuffer.add(REGISTRATION_NUMBER, -5, () -> 5);
+
+    // when
+    medicineStockBuffer.flush(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(admissions).hasSize(1);
+    assertThat(writtenDeltas).containsOnly(Map.entry(REGISTRATION_NUMBER, -5L));
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isZero();
+  }
+
+  @Test
+  @DisplayName("flush() should write the other medicines when the update of one of them fails")
+  void flushShouldWriteTheOtherMedicinesWhenTheUpdateOfOneOfThemFails() {
+    // given
+    doAnswer(invocation -> {
+      Collection<Map.Entry<String, Long>> deltas = invocation.getArgument(1);
+      if (deltas.stream().anyMatch(delta -> delta.getKey().equals(REGISTRATION_NUMBER))) {
+        throw new DataIntegrityViolationException("value out of range");
+      }
+      return writeDeltas(invocation);
+    }).when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> 10);
+    medicineStockBuffer.add("1.4444.4444.333-2", 3, () -> 10);
+
+    // when
+    medicineStockBuffer.flush();
+
+    // then
+    assertThat(writtenDeltas).containsOnly(Map.entry("1.4444.4444.333-2", 3L));
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isZero();
+    verify(medicineCache).invalidate("1.4444.4444.333-2");
+    verify(medicineCache, never()).invalidate(REGISTRATION_NUMBER);
+  }
+
+  @Test
+  @DisplayName("flush() should drop the delta of a medicine whose stock cannot absorb it")
+  void flushShouldDropTheDeltaOfAMedicineWhoseStockCannotAbsorbIt() {
+    // given
+    doReturn(new int[][] { { 0 } })
+        .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    medicineStockBuffer.add(REGISTRATION_NUMBER, -5, () -> 10);
+
+    // when
+    medicineStockBuffer.flush(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isZero();
+    verify(medicineCache, never()).invalidate(REGISTRATION_NUMBER);
+  }
+
+  @Test
+  @DisplayName("flush() should keep the pending deltas for the next flush when the update fails")
+  void flushShouldKeepThePendingDeltasForTheNextFlushWhenTheUpdateFails() {
+    // given
+    doThrow(new DataAccessResourceFailureException("connection refused"))
+        .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> 10);
+
+    assertThatThrownBy(() -> medicineStockBuffer.flush(REGISTRATION_NUMBER))
+        .isInstanceOf(DataAccessResourceFailureException.class);
+
+    doAnswer(this::writeDeltas)
+        .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+
+    // when
+    medicineStockBuffer.flush(REGISTRATION_NUMBER);
+
+    // then
+    assertThat(writtenDeltas).containsOnly(Map.entry(REGISTRATION_NUMBER, 5L));
+    verify(medicineCache).invalidate(REGISTRATION_NUMBER);
+  }
+
+  @Test
+  @DisplayName("add() should read the stock of a medicine only once while it stays buffered")
+  void addShouldReadTheStockOfAMedicineOnlyOnceWhileItStaysBuffered() {
+    // given
+    AtomicInteger stockReads = new AtomicInteger();
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> stockReads.incrementAndGet() + 9);
+
+    // when
+    int amountOfPills = medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> stockReads.incrementAndGet() + 9);
+
+    // then
+    assertThat(amountOfPills).isEqualTo(20);
+    assertThat(stockReads.get()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("add() should admit against the stock refreshed by the last flush")
+  void addShouldAdmitAgainstTheStockRefreshedByTheLastFlush() {
+    // given
+    medicineStockBuffer.add(REGISTRATION_NUMBER, -5, () -> 10);
+    medicineStockBuffer.flush(REGISTRATION_NUMBER);
+
+    // when
+    int amountOfPills = medicineStockBuffer.add(REGISTRATION_NUMBER, -1, () -> 10);
+
+    // then
+    assertThat(amountOfPills).isEqualTo(994);
+  }
+
+  @Test
+  @DisplayName("flush() should evict a medicine that stayed idle for a whole flush")
+  void flushShouldEvictAMedicineThatStayedIdleForAWholeFlush() {
+    // given
+    AtomicInteger stockReads = new AtomicInteger();
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> stockReads.incrementAndGet() + 9);
+    medicineStockBuffer.flush();
+
+    // when
+    medicineStockBuffer.flush();
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> stockReads.incrementAndGet() + 9);
+
+    // then
+    assertThat(stockReads.get()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("flush() should drop the deltas of a medicine after the maximum number of failed attempts")
+  void flushShouldDropTheDeltasOfAMedicineAfterTheMaximumNumberOfFailedAttempts() {
+    // given
+    doThrow(new DataAccessResourceFailureException("connection refused"))
+        .when(jdbcTemplate).batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    medicineStockBuffer.add(REGISTRATION_NUMBER, 5, () -> 10);
+
+    // when
+    for (int attempt = 0; attempt < 3; attempt++) {
+      assertThatThrownBy(() -> medicineStockBuffer.flush(REGISTRATION_NUMBER))
+          .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    // then
+    assertThat(medicineStockBuffer.findPendingDelta(REGISTRATION_NUMBER)).isZero();
+    verify(jdbcTemplate, times(3))
+        .batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+  }
+
+  private int findAmountOfPills(String registrationNumber) {
+    return 1000 + writtenDeltas.getOrDefault(registrationNumber, 0L).intValue();
+  }
+
+  private int[][] writeDeltas(InvocationOnMock invocation) {
+    Collection<Map.Entry<String, Long>> deltas = invocation.getArgument(1);
+    deltas.forEach(delta -> writtenDeltas.merge(delta.getKey(), delta.getValue(), Long::sum));
+    writtenRows.addAndGet(deltas.size());
+    return new int[][] { deltas.stream().mapToInt(delta -> 1).toArray() };
+  }
+}
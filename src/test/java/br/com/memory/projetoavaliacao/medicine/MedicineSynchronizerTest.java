@@ -0,0 +1,202 @@
+package br.com.memory.projetoavaliacao.medicine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.persistence.EntityManagerFactory;
+import javax.validation.Validation;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.memory.projetoavaliacao.ApplicationConfig;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReaction;
+import br.com.memory.projetoavaliacao.adversereaction.AdverseReactionCache;
+import br.com.memory.projetoavaliacao.manufacturer.Manufacturer;
+import br.com.memory.projetoavaliacao.manufacturer.ManufacturerCache;
+
+@ExtendWith(MockitoExtension.class)
+public class MedicineSynchronizerTest {
+  @Mock
+  private MedicineSyncWriter medicineSyncWriter;
+
+  @Mock
+  private ManufacturerCache manufacturerCache;
+
+  @Mock
+  private AdverseReactionCache adverseReactionCache;
+
+  @Mock
+  private MedicineCache medicineCache;
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  @Mock
+  private SessionFactory sessionFactory;
+
+  @Mock
+  private Cache cache;
+
+  private ObjectMapper objectMapper;
+
+  private MedicineSynchronizer medicineSynchronizer;
+
+  @BeforeEach
+  void setUp() {
+    Jackson2ObjectMapperBuilder objectMapperBuilder = Jackson2ObjectMapperBuilder.json();
+    new ApplicationConfig().jsonCustomizer().customize(objectMapperBuilder);
+    objectMapper = objectMapperBuilder.build();
+
+    medicineSynchronizer = new MedicineSynchronizer(
+        objectMapper,
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        medicineSyncWriter,
+        manufacturerCache,
+        adverseReactionCache,
+        medicineCache,
+        TransactionOperations.withoutTransaction(),
+        entityManagerFactory);
+  }
+
+  @Test
+  @DisplayName("sync() should write only new and changed medicines and delete the ones missing from the feed")
+  void syncShouldWriteOnlyNewAndChangedMedicinesAndDeleteTheOnesMissingFromTheFeed() throws Exception {
+    // given
+    String unchangedRow = makeRow("1.4444.4444.333-1");
+    Map<String, String> contentHashes = new HashMap<>();
+    contentHashes.put("1.4444.4444.333-1", hash(unchangedRow));
+    contentHashes.put("1.4444.4444.333-2", "stale");
+    contentHashes.put("1.4444.4444.333-3", null);
+    when(medicineSyncWriter.findContentHashes()).thenReturn(contentHashes);
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(new Manufacturer(1L, "manufacturer")));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(new AdverseReaction(1L, "reaction")));
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    when(sessionFactory.getCache()).thenReturn(cache);
+
+    // when
+    MedicineSyncReport report = medicineSynchronizer.sync(toInputStream(String.join("\n",
+        unchangedRow,
+        makeRow("1.4444.4444.333-2"),
+        makeRow("1.4444.4444.333-4"))));
+
+    // then
+    assertThat(report.getInserted()).isEqualTo(1);
+    assertThat(report.getUpdated()).isEqualTo(1);
+    assertThat(report.getDeleted()).isEqualTo(1);
+    assertThat(report.getUnchanged()).isEqualTo(1);
+    assertThat(report.getErrors()).isEmpty();
+    assertThat(report.getElapsedMillis()).containsOnlyKeys("load", "diff", "insert", "update", "delete");
+    verify(medicineSyncWriter).insertAll(argThat(rows -> rows.size() == 1
+        && rows.get(0).getRegistrationNumber().equals("1.4444.4444.333-4")));
+    verify(medicineSyncWriter).updateAll(argThat(rows -> rows.size() == 1
+        && rows.get(0).getRegistrationNumber().equals("1.4444.4444.333-2")
+        && rows.get(0).getContentHash().equals(MedicineContentHash.of(rows.get(0).getMedicine()))));
+    verify(medicineSyncWriter).deleteAll(List.of("1.4444.4444.333-3"));
+    verify(cache).evictCollectionData(Medicine.class.getName() + ".adverseReactions");
+  }
+
+  @Test
+  @DisplayName("sync() should not delete medicines when a row of the feed could not be identified")
+  void syncShouldNotDeleteMedicinesWhenRowOfTheFeedCouldNotBeIdentified() throws Exception {
+    // given
+    String unchangedRow = makeRow("1.4444.4444.333-1");
+    when(medicineSyncWriter.findContentHashes()).thenReturn(Map.of(
+        "1.4444.4444.333-1", hash(unchangedRow),
+        "1.4444.4444.333-2", "hash"));
+
+    // when
+    MedicineSyncReport report = medicineSynchronizer.sync(toInputStream(String.join("\n",
+        makeRow("1.4444.4444.333-2").replace("01/01/2030", "2030-01-01"),
+        unchangedRow)));
+
+    // then
+    assertThat(report.getUnchanged()).isEqualTo(1);
+    assertThat(report.getDeleted()).isZero();
+    assertThat(report.getErrors()).containsExactly(
+        new MedicineImportError(0, null, "The expirationDate field has an invalid date format"));
+    verify(medicineSyncWriter, never()).deleteAll(any());
+  }
+
+  @Test
+  @DisplayName("sync() should not delete medicines when the feed has no accepted row")
+  void syncShouldNotDeleteMedicinesWhenTheFeedHasNoAcceptedRow() throws Exception {
+    // given
+    when(medicineSyncWriter.findContentHashes()).thenReturn(Map.of("1.4444.4444.333-1", "hash"));
+
+    // when
+    MedicineSyncReport report = medicineSynchronizer.sync(toInputStream(""));
+
+    // then
+    assertThat(report.getDeleted()).isZero();
+    verify(medicineSyncWriter, never()).deleteAll(any());
+  }
+
+  @Test
+  @DisplayName("sync() should write the other medicines when the database rejects one of them")
+  void syncShouldWriteTheOtherMedicinesWhenTheDatabaseRejectsOneOfThem() throws Exception {
+    // given
+    when(medicineSyncWriter.findContentHashes()).thenReturn(Map.of());
+    when(manufacturerCache.findById(1L)).thenReturn(Optional.of(new Manufacturer(1L, "manufacturer")));
+    when(adverseReactionCache.findAllById(Set.of(1L))).thenReturn(List.of(new AdverseReaction(1L, "reaction")));
+    doThrow(new DataIntegrityViolationException("numeric field overflow"))
+        .when(medicineSyncWriter).insertAll(argThat(rows -> rows.stream()
+            .anyMatch(row -> row.getRegistrationNumber().equals("1.4444.4444.333-2"))));
+
+    // when
+    MedicineSyncReport report = medicineSynchronizer.sync(toInputStream(String.join("\n",
+        makeRow("1.4444.4444.333-1"),
+        makeRow("1.4444.4444.333-2"))));
+
+    // then
+    assertThat(report.getInserted()).isEqualTo(1);
+    assertThat(report.getErrors()).containsExactly(
+        new MedicineImportError(1, "1.4444.4444.333-2", "The medicine could not be synchronized"));
+    verify(medicineSyncWriter).insertAll(argThat(rows -> rows.size() == 1
+        && rows.get(0).getRegistrationNumber().equals("1.4444.4444.333-1")));
+  }
+
+  private String hash(String row) throws Exception {
+    return MedicineContentHash.of(objectMapper.readValue(row, MedicineCreationDto.class));
+  }
+
+  private String makeRow(String registrationNumber) {
+    return "{\"registrationNumber\":\"" + registrationNumber + "\","
+        + "\"name\":\"medicine\","
+        + "\"expirationDate\":\"01/01/2030\","
+        + "\"customerServicePhone\":\"(11)2222-3333\","
+        + "\"price\":10,"
+        + "\"amountOfPills\":20,"
+        + "\"manufacturerId\":1,"
+        + "\"adverseReactionIds\":[1]}";
+  }
+
+  private InputStream toInputStream(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}